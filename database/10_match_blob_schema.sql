@@ -0,0 +1,11 @@
+-- 매칭 결과 압축 저장 모드 (recipe.match.storage=blob)
+-- 사용자당 한 행에 매칭 결과 전체를 레시피 ID 순 가변 길이 정수 배열로 담아 Deflate 압축하여 저장
+-- 재계산마다 user_recipe_match 에 N 행을 쓰는 대신 이 한 행만 교체 (목록 조회는 메모리에서 풀어서 정렬)
+
+CREATE TABLE user_match_blob (
+    user_id BIGINT PRIMARY KEY,
+    recipe_count INT NOT NULL DEFAULT 0,   -- 매칭된 레시피 수
+    data MEDIUMBLOB NOT NULL,              -- MatchBlobCodec 형식
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,14 @@
+-- 비활성 사용자 매칭 데이터 정리 (recipe.match.retention)
+-- last_active_at: 마지막 로그인 또는 냉장고 변경 시각 (기존 행은 적용 시각 기준으로 시작)
+-- 보관 기간이 지난 사용자는 매칭 행 / 압축 결과 / 상태 행을 삭제하고, 다음 방문 시 기존 지연 재계산으로 다시 만듦
+
+ALTER TABLE user_match_state
+    ADD COLUMN last_active_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP AFTER match_version,
+    ADD INDEX idx_last_active_at (last_active_at);
+
+-- 매칭 데이터가 정리된 사용자 (다시 계산되면 삭제하여 재생성 사용자 수를 셈)
+CREATE TABLE match_eviction (
+    user_id BIGINT PRIMARY KEY,
+    evicted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,24 @@
+-- 레시피 재료 정규화 테이블 (recipe.match.engine=sql 에서 DB 집계 매칭에 사용)
+-- 재료 JSON(parsed_ingredients / ingredients) 을 API 동기화와 사용자 레시피 작성/수정 시 레시피-재료 행으로 풀어 저장
+-- 기존 레시피는 앱 시작 시 recipe_ingredient 가 비어 있으면 카탈로그 스냅샷에서 한 번 채움
+
+-- 재료 사전 (정규화된 재료명 -> ID)
+CREATE TABLE ingredient_vocab (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    UNIQUE KEY uk_ingredient_vocab_name (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 레시피별 재료 (레시피 한 건 = 재료 수만큼의 행)
+-- PK 는 레시피 기준 조회/전체 재료 수 계산용, idx_ingredient_recipe 는 재료 -> 레시피 조인용
+CREATE TABLE recipe_ingredient (
+    recipe_id BIGINT NOT NULL,
+    ingredient_id INT NOT NULL,
+    PRIMARY KEY (recipe_id, ingredient_id),
+    INDEX idx_ingredient_recipe (ingredient_id, recipe_id),
+    FOREIGN KEY (recipe_id) REFERENCES user_recipe(id) ON DELETE CASCADE,
+    FOREIGN KEY (ingredient_id) REFERENCES ingredient_vocab(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 사용자 활성 식재료 조회용 (user_id 기준 조회 후 재료명으로 사전 조인)
+ALTER TABLE ingredient ADD INDEX idx_ingredient_user_status (user_id, status);
@@ -0,0 +1,5 @@
+-- 사용자 권한 (운영 현황 /admin/** 접근 제어)
+-- 기본은 user, 운영자는 직접 지정: UPDATE users SET role = 'admin' WHERE username = '...';
+
+ALTER TABLE users
+    ADD COLUMN role VARCHAR(20) NOT NULL DEFAULT 'user' AFTER email_notification_enabled;
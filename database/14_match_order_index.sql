@@ -0,0 +1,7 @@
+-- 통합 레시피 목록 커서 조회용 매칭 정렬 인덱스
+-- 매칭 구간을 ORDER BY match_percent DESC, matched_count DESC, recipe_id DESC 그대로 인덱스에서 읽고
+-- 커서 위치부터 limit 건만 가져온 뒤 레시피를 PK 로 조인 (점수가 같은 레시피는 ID 역순)
+-- 기존 (user_id, generation, match_percent) 인덱스는 이 인덱스의 앞부분이므로 교체
+ALTER TABLE user_recipe_match DROP INDEX idx_user_generation_match_percent;
+ALTER TABLE user_recipe_match ADD INDEX idx_user_generation_match_order
+    (user_id, generation, match_percent DESC, matched_count DESC, recipe_id DESC);
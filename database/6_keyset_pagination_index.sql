@@ -0,0 +1,12 @@
+-- 커서(키셋) 페이징을 위한 인덱스
+-- 정렬 순서 (생성일 DESC, id DESC) 그대로 인덱스를 타고 커서 이후 행만 읽도록 함
+
+-- 내 레시피 목록: WHERE user_id = ? ORDER BY created_at DESC, id DESC
+ALTER TABLE user_recipe ADD INDEX idx_user_created_id (user_id, created_at DESC, id DESC);
+
+-- 좋아요한 레시피 목록: WHERE user_id = ? ORDER BY created_at DESC, recipe_id DESC
+ALTER TABLE recipe_like ADD INDEX idx_user_created_recipe (user_id, created_at DESC, recipe_id DESC);
+
+-- 조회 시점 매칭 모드의 통합 레시피 ID 목록: ORDER BY created_at DESC, id DESC (정렬 없이 인덱스만 읽음)
+-- 매칭 점수순 통합 목록의 미매칭 구간도 이 순서로 커서 이후부터 읽음 (매칭 구간은 14_match_order_index.sql)
+ALTER TABLE user_recipe ADD INDEX idx_created_id (created_at DESC, id DESC);
@@ -0,0 +1,23 @@
+-- 매칭 점수 세대(generation) 교체를 위한 스키마 변경
+-- 재계산 결과를 새 세대 번호로 먼저 써 두고, user_match_state 의 현재 세대만 바꿔서 한 번에 공개
+-- 목록 조회는 항상 현재 세대 행만 읽으므로 재계산 중에도 빈 결과를 보지 않음
+
+-- 사용자별 현재 공개된 매칭 세대 / 마지막으로 발급한 세대 번호
+CREATE TABLE user_match_state (
+    user_id BIGINT PRIMARY KEY,
+    current_generation BIGINT NOT NULL DEFAULT 0,
+    last_generation BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 매칭 행에 세대 번호 추가 (기존 행은 세대 0 = 상태 행이 없을 때의 현재 세대)
+ALTER TABLE user_recipe_match ADD COLUMN generation BIGINT NOT NULL DEFAULT 0 AFTER recipe_id;
+
+-- 같은 레시피라도 세대별로 한 행씩 존재할 수 있도록 유니크 키 변경
+ALTER TABLE user_recipe_match DROP INDEX unique_user_recipe;
+ALTER TABLE user_recipe_match ADD UNIQUE KEY unique_user_generation_recipe (user_id, generation, recipe_id);
+
+-- 현재 세대 정렬 조회용
+ALTER TABLE user_recipe_match DROP INDEX idx_user_match_percent;
+ALTER TABLE user_recipe_match ADD INDEX idx_user_generation_match_percent (user_id, generation, match_percent DESC);
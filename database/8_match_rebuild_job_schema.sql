@@ -0,0 +1,18 @@
+-- 전체 매칭 재계산 작업 체크포인트
+-- API 레시피 동기화 후 매칭 테이블을 유지 중인 사용자 전체를 user_id 순서로 나눠서 재계산하며,
+-- 파티션이 끝날 때마다 마지막 user_id 를 기록하여 재시작 시 그 다음 사용자부터 이어서 처리
+
+CREATE TABLE match_rebuild_job (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    status VARCHAR(20) NOT NULL DEFAULT 'running',   -- running / completed / failed
+    reason VARCHAR(50) DEFAULT NULL,                 -- 시작 사유 (api-sync, admin)
+    total_users INT NOT NULL DEFAULT 0,              -- 시작 시점 대상 사용자 수
+    processed_users INT NOT NULL DEFAULT 0,          -- 처리 완료 사용자 수
+    last_user_id BIGINT NOT NULL DEFAULT 0,          -- 체크포인트: 이 user_id 까지 처리 완료
+    error_message VARCHAR(500) DEFAULT NULL,
+    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP NULL DEFAULT NULL,
+
+    INDEX idx_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,11 @@
+-- 매칭 최신 여부 추적을 위한 스키마 변경
+-- fridge_version: 사용자 냉장고(활성 식재료)가 바뀔 때마다 1 증가
+-- match_version: 현재 공개된 매칭 결과가 반영한 fridge_version (NULL: 아직 한 번도 계산되지 않음)
+-- 목록 조회는 두 버전이 같으면 재계산하지 않으며, 매칭 행 COUNT 로 계산 여부를 추정하지 않음
+
+ALTER TABLE user_match_state
+    ADD COLUMN fridge_version BIGINT NOT NULL DEFAULT 0 AFTER last_generation,
+    ADD COLUMN match_version BIGINT NULL DEFAULT NULL AFTER fridge_version;
+
+-- 이미 공개된 세대가 있는 사용자는 현재 냉장고 기준으로 계산된 것으로 간주
+UPDATE user_match_state SET match_version = 0 WHERE current_generation > 0;
@@ -0,0 +1,98 @@
+package com.example.demo.TEST_001.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 작업별 전용 실행기 (격벽)
+ * 매칭 재계산 / 이메일 발송 / 이미지 인식이 각자 제한된 풀과 큐를 사용하여
+ * 한 작업이 느려져도(예: Brevo API 지연) 다른 작업의 스레드를 빼앗지 않도록 분리
+ * 모든 @Async 는 실행기 이름을 명시해야 함
+ */
+@Slf4j
+@Configuration
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String MATCH_EXECUTOR = "matchExecutor";
+    public static final String MATCH_REFRESH_EXECUTOR = "matchRefreshExecutor";
+    public static final String EMAIL_EXECUTOR = "emailExecutor";
+    public static final String RECOGNITION_EXECUTOR = "recognitionExecutor";
+    public static final String REBUILD_EXECUTOR = "rebuildExecutor";
+
+    /**
+     * 매칭 재계산: 큐가 가득 차면 호출 스레드에서 직접 실행 (재계산 유실 방지 + 역압)
+     */
+    @Bean(name = MATCH_EXECUTOR)
+    public ThreadPoolTaskExecutor matchExecutor(@Value("${async.match.core-size:2}") int coreSize,
+                                                @Value("${async.match.max-size:4}") int maxSize,
+                                                @Value("${async.match.queue-capacity:100}") int queueCapacity) {
+        return createExecutor("match-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 매칭 미리 계산/백그라운드 갱신: 큐가 가득 차면 버림 (다음 조회 때 다시 요청되므로 유실 허용, 거절 건수로 감시)
+     * 부가 작업이 matchExecutor 큐를 채워 식재료 변경 반영이 호출 스레드(요청 스레드)로 밀려나지 않도록 분리
+     */
+    @Bean(name = MATCH_REFRESH_EXECUTOR)
+    public ThreadPoolTaskExecutor matchRefreshExecutor(@Value("${async.match-refresh.core-size:1}") int coreSize,
+                                                       @Value("${async.match-refresh.max-size:2}") int maxSize,
+                                                       @Value("${async.match-refresh.queue-capacity:50}") int queueCapacity) {
+        return createExecutor("match-refresh-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 이메일 발송: 큐가 가득 차면 버림 (알림은 앱 내 알림으로도 전달되므로 유실 허용, 거절 건수로 감시)
+     */
+    @Bean(name = EMAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor emailExecutor(@Value("${async.email.core-size:2}") int coreSize,
+                                                @Value("${async.email.max-size:2}") int maxSize,
+                                                @Value("${async.email.queue-capacity:500}") int queueCapacity) {
+        return createExecutor("email-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 이미지 인식: 큐가 가득 차면 즉시 거절하여 사용자에게 재시도 안내
+     */
+    @Bean(name = RECOGNITION_EXECUTOR)
+    public ThreadPoolTaskExecutor recognitionExecutor(@Value("${async.recognition.core-size:2}") int coreSize,
+                                                      @Value("${async.recognition.max-size:4}") int maxSize,
+                                                      @Value("${async.recognition.queue-capacity:20}") int queueCapacity) {
+        return createExecutor("recognition-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 전체 매칭 재계산 작업: 파티션 단위로 넣고 끝날 때까지 기다리므로 큐가 차면 작업 스레드에서 직접 실행
+     */
+    @Bean(name = REBUILD_EXECUTOR)
+    public ThreadPoolTaskExecutor rebuildExecutor(@Value("${async.rebuild.core-size:2}") int coreSize,
+                                                  @Value("${async.rebuild.max-size:2}") int maxSize,
+                                                  @Value("${async.rebuild.queue-capacity:200}") int queueCapacity) {
+        return createExecutor("rebuild-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(String threadNamePrefix, int coreSize, int maxSize,
+                                                  int queueCapacity, RejectedExecutionHandler rejectionPolicy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, maxSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new CountingRejectedExecutionHandler(threadNamePrefix + "executor", rejectionPolicy));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (e, method, params) -> log.error("비동기 작업 실패: {}", method.getName(), e);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.TEST_001.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 거절 횟수를 세는 거절 정책 래퍼 (실제 처리는 위임 정책이 담당)
+ */
+@Slf4j
+public class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    private final String executorName;
+    private final RejectedExecutionHandler delegate;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public CountingRejectedExecutionHandler(String executorName, RejectedExecutionHandler delegate) {
+        this.executorName = executorName;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        long count = rejectedCount.incrementAndGet();
+        log.warn("{} 작업 거절 - 누적 {}건, 실행 중 {}, 대기 {}",
+                executorName, count, executor.getActiveCount(), executor.getQueue().size());
+        delegate.rejectedExecution(task, executor);
+    }
+
+    public String getPolicyName() {
+        return delegate.getClass().getSimpleName();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.TEST_001.config;
 
+import com.example.demo.TEST_001.service.MatchRebuildService;
+import com.example.demo.TEST_001.service.RecipeIngredientService;
 import com.example.demo.TEST_001.service.RecipeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +18,8 @@ import org.springframework.stereotype.Component;
 public class RecipeDataInitializer implements ApplicationRunner {
 
     private final RecipeService recipeService;
+    private final MatchRebuildService matchRebuildService;
+    private final RecipeIngredientService recipeIngredientService;
 
     @Override
     public void run(ApplicationArguments args) {
@@ -29,5 +33,15 @@ public class RecipeDataInitializer implements ApplicationRunner {
         } catch (Exception e) {
             log.error("레시피 데이터 초기화 중 오류 발생", e);
         }
+
+        // 레시피 재료 테이블이 비어 있으면 기존 레시피로 채움 (DB 집계 매칭용)
+        try {
+            recipeIngredientService.backfillIfEmpty();
+        } catch (Exception e) {
+            log.error("레시피 재료 테이블 채우기 중 오류 발생", e);
+        }
+
+        // 재시작 전에 끝나지 않은 전체 매칭 재계산 작업 이어서 처리
+        matchRebuildService.resumeInterrupted();
     }
 }
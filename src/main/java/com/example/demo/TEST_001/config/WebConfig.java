@@ -1,5 +1,6 @@
 package com.example.demo.TEST_001.config;
 
+import com.example.demo.TEST_001.interceptor.AdminInterceptor;
 import com.example.demo.TEST_001.interceptor.LoginInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -15,6 +16,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
     private final LoginInterceptor loginInterceptor;
+    private final AdminInterceptor adminInterceptor;
 
     @Bean
     public RestTemplate restTemplate() {
@@ -56,5 +58,9 @@ public class WebConfig implements WebMvcConfigurer {
                         "/uploads/**",                // 업로드된 파일
                         "/error"                      // 에러 페이지
                 );
+
+        // 운영 현황은 로그인 확인 후 관리자 권한까지 확인
+        registry.addInterceptor(adminInterceptor)
+                .addPathPatterns("/admin/**");
     }
 }
@@ -0,0 +1,74 @@
+package com.example.demo.TEST_001.controller;
+
+import com.example.demo.TEST_001.service.ExecutorMetricsService;
+import com.example.demo.TEST_001.service.ExpiryScoreCache;
+import com.example.demo.TEST_001.service.FridgeMatchCache;
+import com.example.demo.TEST_001.service.MatchRebuildService;
+import com.example.demo.TEST_001.service.MatchRetentionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+/**
+ * 운영 현황 조회 (JSON, 관리자 전용 - AdminInterceptor)
+ * 전체 매칭 재계산은 API 동기화 / 앱 시작 시에만 시작되며 여기서는 진행 상황만 조회
+ */
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class AdminController {
+    private final ExecutorMetricsService executorMetricsService;
+    private final MatchRebuildService matchRebuildService;
+    private final FridgeMatchCache fridgeMatchCache;
+    private final ExpiryScoreCache expiryScoreCache;
+    private final MatchRetentionService matchRetentionService;
+
+    /**
+     * 비동기 실행기별 실행 중/대기/거절 현황
+     */
+    @GetMapping("/executors")
+    @ResponseBody
+    public Map<String, Object> getExecutorMetrics() {
+        return executorMetricsService.getExecutorMetrics();
+    }
+
+    /**
+     * 전체 매칭 재계산 작업 진행률 / 예상 남은 시간
+     */
+    @GetMapping("/match-rebuild")
+    @ResponseBody
+    public Map<String, Object> getMatchRebuildStatus() {
+        return matchRebuildService.getStatus();
+    }
+
+    /**
+     * 냉장고 지문 매칭 캐시 크기 / 적중률 / 제거 건수
+     */
+    @GetMapping("/match-cache")
+    @ResponseBody
+    public Map<String, Object> getMatchCacheStats() {
+        return fridgeMatchCache.getStats();
+    }
+
+    /**
+     * 유통기한 가중 점수 캐시 크기 / 적중 / 미적중
+     */
+    @GetMapping("/expiry-cache")
+    @ResponseBody
+    public Map<String, Object> getExpiryCacheStats() {
+        return expiryScoreCache.getStats();
+    }
+
+    /**
+     * 비활성 사용자 매칭 데이터 정리 / 재생성 사용자 수
+     */
+    @GetMapping("/match-retention")
+    @ResponseBody
+    public Map<String, Object> getMatchRetentionStats() {
+        return matchRetentionService.getStats();
+    }
+}
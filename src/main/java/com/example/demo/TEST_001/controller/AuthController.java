@@ -1,6 +1,8 @@
 package com.example.demo.TEST_001.controller;
 
 import com.example.demo.TEST_001.dto.UserDTO;
+import com.example.demo.TEST_001.service.MatchRecomputeCoordinator;
+import com.example.demo.TEST_001.service.MatchRetentionService;
 import com.example.demo.TEST_001.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 @RequiredArgsConstructor
 public class AuthController {
     private final UserService userService;
+    private final MatchRecomputeCoordinator matchRecomputeCoordinator;
+    private final MatchRetentionService matchRetentionService;
 
     // 회원가입 폼
     @GetMapping("/signup")
@@ -57,6 +61,10 @@ public class AuthController {
             UserDTO user = userService.login(username, password);
             // 세션에 사용자 정보 저장
             session.setAttribute("loginUser", user);
+            // 비활성 사용자 매칭 데이터 정리 기준이 되는 활동 시각 기록
+            matchRetentionService.recordActivity(user.getId());
+            // 첫 레시피 목록 조회 전에 매칭 점수를 백그라운드에서 미리 계산
+            matchRecomputeCoordinator.warmUp(user.getId());
             return "redirect:/";
         } catch (IllegalArgumentException e) {
             model.addAttribute("error", e.getMessage());
@@ -9,6 +9,8 @@ import com.example.demo.TEST_001.service.FoodRecognitionService;
 import com.example.demo.TEST_001.service.IngredientService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/ingredient")
@@ -63,7 +66,16 @@ public class FoodRecognitionController {
             return result;
         }
 
-        return foodRecognitionService.recognizeFood(image);
+        try {
+            // 인식 전용 실행기에서 처리 (요청 완료 전까지 업로드 파일이 유지되도록 여기서 대기)
+            return foodRecognitionService.recognizeFoodAsync(image).join();
+        } catch (TaskRejectedException e) {
+            log.warn("이미지 인식 요청 거절 (대기열 초과): userId={}", loginUser.getId());
+            FoodRecognitionResultDTO result = new FoodRecognitionResultDTO();
+            result.setSuccess(false);
+            result.setMessage("인식 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            return result;
+        }
     }
 
     /**
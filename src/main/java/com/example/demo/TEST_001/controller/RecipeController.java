@@ -37,6 +37,7 @@ public class RecipeController {
             @RequestParam(required = false) String searchIngredient,
             @RequestParam(required = false) String searchAuthor,
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,  // 다음 페이지 이동 시 키셋 커서
             HttpSession session,
             Model model) {
 
@@ -49,18 +50,23 @@ public class RecipeController {
         // 페이징 설정
         int pageSize = 20;
 
-        // 통합 레시피 목록 조회
-        Map<String, Object> result = recipeService.getIntegratedRecipeListWithCount(
-                loginUser.getId(),
-                source,
-                rcpWay2,
-                rcpPat2,
-                searchRecipeName,
-                searchIngredient,
-                searchAuthor,
-                page,
-                pageSize
-        );
+        // 통합 레시피 목록 조회 (커서가 있으면 앞 페이지를 건너뛰지 않는 키셋 조회)
+        Map<String, Object> result = cursor != null && !cursor.isBlank()
+                ? recipeService.getIntegratedRecipeListByCursor(
+                        loginUser.getId(), source, rcpWay2, rcpPat2,
+                        searchRecipeName, searchIngredient, searchAuthor,
+                        cursor, pageSize, true)
+                : recipeService.getIntegratedRecipeListWithCount(
+                        loginUser.getId(),
+                        source,
+                        rcpWay2,
+                        rcpPat2,
+                        searchRecipeName,
+                        searchIngredient,
+                        searchAuthor,
+                        page,
+                        pageSize
+                );
 
         @SuppressWarnings("unchecked")
         List<UserRecipeDTO> recipes = (List<UserRecipeDTO>) result.get("recipes");
@@ -72,6 +78,8 @@ public class RecipeController {
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", totalPages);
         model.addAttribute("totalCount", totalCount);
+        model.addAttribute("nextCursor", result.get("nextCursor"));
+        model.addAttribute("refreshing", Boolean.TRUE.equals(result.get("refreshing")));
         model.addAttribute("source", source);
         model.addAttribute("rcpWay2", rcpWay2);
         model.addAttribute("rcpPat2", rcpPat2);
@@ -82,6 +90,54 @@ public class RecipeController {
         return "recipeList";
     }
 
+    /**
+     * 통합 레시피 목록 다음 페이지 (AJAX, 키셋 커서)
+     * 전체 개수 조회 없이 limit + 1 건으로 다음 페이지 유무만 판단
+     */
+    @GetMapping("/list/more")
+    @ResponseBody
+    public Map<String, Object> recipeListMore(
+            @RequestParam(required = false, defaultValue = "all") String source,
+            @RequestParam(required = false) String rcpWay2,
+            @RequestParam(required = false) String rcpPat2,
+            @RequestParam(required = false) String searchRecipeName,
+            @RequestParam(required = false) String searchIngredient,
+            @RequestParam(required = false) String searchAuthor,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            HttpSession session) {
+
+        UserDTO loginUser = (UserDTO) session.getAttribute("loginUser");
+        if (loginUser == null) {
+            throw new IllegalStateException("로그인이 필요합니다.");
+        }
+
+        return recipeService.getIntegratedRecipeListByCursor(
+                loginUser.getId(), source, rcpWay2, rcpPat2,
+                searchRecipeName, searchIngredient, searchAuthor,
+                cursor, Math.min(Math.max(size, 1), 100), false);
+    }
+
+    /**
+     * 지금 바로 / 재료 몇 개만 더 있으면 만들 수 있는 레시피 (AJAX)
+     * 부족한 재료가 maxMissing 개 이하인 레시피를 부족 재료 목록과 함께 반환
+     */
+    @GetMapping("/cookable")
+    @ResponseBody
+    public Map<String, Object> cookableRecipes(
+            @RequestParam(defaultValue = "1") int maxMissing,
+            @RequestParam(defaultValue = "20") int size,
+            HttpSession session) {
+
+        UserDTO loginUser = (UserDTO) session.getAttribute("loginUser");
+        if (loginUser == null) {
+            throw new IllegalStateException("로그인이 필요합니다.");
+        }
+
+        return recipeService.getCookableRecipes(loginUser.getId(),
+                Math.min(Math.max(maxMissing, 0), 10), Math.min(Math.max(size, 1), 100));
+    }
+
     /**
      * 통합 레시피 상세 페이지 (ID 기반)
      */
@@ -25,17 +25,22 @@ import java.util.Map;
 public class UserRecipeController {
     private final UserRecipeService userRecipeService;
 
+    // 내 레시피 / 좋아요 목록 한 페이지 크기
+    private static final int PAGE_SIZE = 20;
+
     // ==================== 레시피 목록 ====================
 
     // 내 레시피 목록
     @GetMapping("/my-recipes")
-    public String myRecipes(HttpSession session, Model model) {
+    public String myRecipes(@RequestParam(required = false) String cursor, HttpSession session, Model model) {
         UserDTO loginUser = (UserDTO) session.getAttribute("loginUser");
         if (loginUser == null) {
             return "redirect:/login";
         }
-        List<UserRecipeDTO> recipes = userRecipeService.getMyRecipes(loginUser.getId());
-        model.addAttribute("recipes", recipes);
+        Map<String, Object> result = userRecipeService.getMyRecipes(loginUser.getId(), cursor, PAGE_SIZE);
+        model.addAllAttributes(result);
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("listUrl", "/recipe/my-recipes");
         model.addAttribute("pageTitle", "내가 작성한 레시피");
         return "myRecipes";
     }
@@ -48,13 +53,15 @@ public class UserRecipeController {
 
     // 좋아요한 레시피 목록
     @GetMapping("/liked-recipes")
-    public String likedRecipes(HttpSession session, Model model) {
+    public String likedRecipes(@RequestParam(required = false) String cursor, HttpSession session, Model model) {
         UserDTO loginUser = (UserDTO) session.getAttribute("loginUser");
         if (loginUser == null) {
             return "redirect:/login";
         }
-        List<UserRecipeDTO> recipes = userRecipeService.getLikedRecipes(loginUser.getId());
-        model.addAttribute("recipes", recipes);
+        Map<String, Object> result = userRecipeService.getLikedRecipes(loginUser.getId(), cursor, PAGE_SIZE);
+        model.addAllAttributes(result);
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("listUrl", "/recipe/liked-recipes");
         model.addAttribute("pageTitle", "좋아요한 레시피");
         return "myRecipes";
     }
@@ -0,0 +1,29 @@
+package com.example.demo.TEST_001.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchRebuildJobDTO {
+    private Long id;
+    private String status;            // running, completed, failed
+    private String reason;            // api-sync, admin
+    private Integer totalUsers;
+    private Integer processedUsers;
+    private Long lastUserId;          // 체크포인트 (이 user_id 까지 처리 완료)
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,72 @@
+package com.example.demo.TEST_001.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 레시피 목록 커서 (키셋 페이징)
+ * 마지막으로 본 행의 정렬 키 (매칭률, 매칭 개수, 생성일/좋아요일, 레시피 ID)
+ * 목록에 따라 쓰지 않는 키는 null
+ */
+@Getter
+@Setter
+@ToString
+public class RecipeCursorDTO {
+    private Double matchScore;
+    private Integer matchedCount;
+    private LocalDateTime createdAt;
+    private Long id;
+
+    public static RecipeCursorDTO of(Double matchScore, Integer matchedCount, LocalDateTime createdAt, Long id) {
+        RecipeCursorDTO cursor = new RecipeCursorDTO();
+        cursor.setMatchScore(matchScore);
+        cursor.setMatchedCount(matchedCount);
+        cursor.setCreatedAt(createdAt);
+        cursor.setId(id);
+        return cursor;
+    }
+
+    /**
+     * URL 에 실을 수 있는 문자열로 변환
+     */
+    public String encode() {
+        String raw = String.join("|",
+                matchScore != null ? matchScore.toString() : "",
+                matchedCount != null ? matchedCount.toString() : "",
+                createdAt != null ? createdAt.toString() : "",
+                id != null ? id.toString() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 해석 (비어 있거나 잘못된 값이면 null - 첫 페이지로 처리)
+     */
+    public static RecipeCursorDTO decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || parts[3].isEmpty()) {
+                return null;
+            }
+            Double matchScore = parts[0].isEmpty() ? null : Double.valueOf(parts[0]);
+            if (matchScore != null && !Double.isFinite(matchScore)) {
+                return null;    // 조작된 커서 (NaN, Infinity 는 SQL 비교에 쓸 수 없음)
+            }
+            return of(matchScore,
+                    parts[1].isEmpty() ? null : Integer.valueOf(parts[1]),
+                    parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]),
+                    Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -16,5 +16,6 @@ public class UserDTO {
     private String name;
     private String email;
     private Boolean emailNotificationEnabled;
+    private String role;    // user / admin
     private LocalDateTime createdAt;
 }
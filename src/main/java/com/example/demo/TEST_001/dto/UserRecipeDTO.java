@@ -68,11 +68,14 @@ public class UserRecipeDTO {
     private int totalIngredientCount;
     private double matchScore;
     private String matchedIngredients;
+    private List<String> missingIngredients;   // 냉장고에 없는 재료 (부족 재료 조회용)
+    private double expiryScore;                // 유통기한 가중 점수 (유통기한 순위 모드)
 
     // 추가 필드 (조인용)
     private String authorName;               // 작성자 이름
     private String authorUsername;           // 작성자 username
     private Boolean isLiked;                 // 현재 사용자가 좋아요 했는지 여부
+    private LocalDateTime likedAt;           // 좋아요한 시각 (좋아요 목록 커서용)
 
     // 파싱된 데이터 (JSON -> 객체)
     private List<IngredientItemDTO> ingredientList;
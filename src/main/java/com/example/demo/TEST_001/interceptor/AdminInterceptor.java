@@ -0,0 +1,31 @@
+package com.example.demo.TEST_001.interceptor;
+
+import com.example.demo.TEST_001.dto.UserDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 운영 현황(/admin/**) 접근 제어 - role 이 admin 인 사용자만 허용
+ */
+@Component
+public class AdminInterceptor implements HandlerInterceptor {
+
+    public static final String ADMIN_ROLE = "admin";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        HttpSession session = request.getSession(false);
+        Object loginUser = session != null ? session.getAttribute("loginUser") : null;
+
+        // 로그인하지 않았거나 관리자가 아닌 경우
+        if (!(loginUser instanceof UserDTO user) || !ADMIN_ROLE.equals(user.getRole())) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.TEST_001.repository;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * MyBatis BATCH 실행기로 같은 문장을 반복 실행
+ * - 하나의 PreparedStatement 에 addBatch 로 쌓고 flush-size 건마다 전송
+ * - 드라이버 rewriteBatchedStatements=true 이면 전송 시 다중 VALUES INSERT 로 재작성됨
+ * - 세션 연결은 스프링 트랜잭션에 참여하므로 트랜잭션 안에서 호출하면 커밋/롤백을 함께 따름
+ */
+@Component
+public class BatchStatementExecutor {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final int flushSize;
+    private final boolean enabled;
+
+    public BatchStatementExecutor(SqlSessionFactory sqlSessionFactory,
+                                  @Value("${recipe.batch.flush-size:500}") int flushSize,
+                                  @Value("${recipe.batch.executor:batch}") String executor) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.flushSize = Math.max(1, flushSize);
+        this.enabled = "batch".equalsIgnoreCase(executor);
+    }
+
+    /**
+     * BATCH 실행기 사용 여부 (foreach: 기존 다중 VALUES 매퍼 문장 사용)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 파라미터마다 같은 INSERT 문장 실행
+     * useGeneratedKeys 문장이면 전송(flush) 이후 각 파라미터에 생성 키가 채워짐
+     */
+    public <T> int insertAll(String statement, Collection<T> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return 0;
+        }
+
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            int pending = 0;
+            for (T parameter : parameters) {
+                session.insert(statement, parameter);
+                if (++pending == flushSize) {
+                    session.flushStatements();
+                    pending = 0;
+                }
+            }
+            session.flushStatements();
+            // 스프링 트랜잭션에 묶인 연결이면 실제 커밋은 트랜잭션 종료 시점에 수행됨
+            session.commit();
+            return parameters.size();
+        }
+    }
+}
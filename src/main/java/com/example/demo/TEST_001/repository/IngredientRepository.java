@@ -148,4 +148,9 @@ public class IngredientRepository {
         params.put("limit", limit);
         return sql.selectList("ingredient.getTopDiscardedIngredients", params);
     }
+
+    // 매칭 테이블을 유지 중인 사용자들의 활성 식재료명 (냉장고 재료 역색인 구축용)
+    public List<Map<String, Object>> findActiveIngredientNamesOfMatchedUsers() {
+        return sql.selectList("ingredient.findActiveIngredientNamesOfMatchedUsers");
+    }
 }
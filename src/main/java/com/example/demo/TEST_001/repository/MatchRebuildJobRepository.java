@@ -0,0 +1,63 @@
+package com.example.demo.TEST_001.repository;
+
+import com.example.demo.TEST_001.dto.MatchRebuildJobDTO;
+import lombok.RequiredArgsConstructor;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class MatchRebuildJobRepository {
+    private final SqlSessionTemplate sql;
+
+    // 작업 생성 (생성된 id 가 DTO 에 채워짐)
+    public void save(MatchRebuildJobDTO job) {
+        sql.insert("matchRebuild.save", job);
+    }
+
+    // 진행 중인 작업 (없으면 null)
+    public MatchRebuildJobDTO findRunning() {
+        return sql.selectOne("matchRebuild.findRunning");
+    }
+
+    // 최근 작업 (없으면 null)
+    public MatchRebuildJobDTO findLatest() {
+        return sql.selectOne("matchRebuild.findLatest");
+    }
+
+    // 체크포인트 기록
+    public void updateCheckpoint(Long id, long lastUserId, int processedUsers) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", id);
+        params.put("lastUserId", lastUserId);
+        params.put("processedUsers", processedUsers);
+        sql.update("matchRebuild.updateCheckpoint", params);
+    }
+
+    // 작업 종료 (completed / failed)
+    public void finish(Long id, String status, String errorMessage) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", id);
+        params.put("status", status);
+        params.put("errorMessage", errorMessage);
+        sql.update("matchRebuild.finish", params);
+    }
+
+    // 재계산 대상 사용자 수
+    public int countTargetUsers() {
+        Integer count = sql.selectOne("matchRebuild.countTargetUsers");
+        return count != null ? count : 0;
+    }
+
+    // 체크포인트 이후 재계산 대상 사용자 ID
+    public List<Long> findTargetUserIdsAfter(long lastUserId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("lastUserId", lastUserId);
+        params.put("limit", limit);
+        return sql.selectList("matchRebuild.findTargetUserIdsAfter", params);
+    }
+}
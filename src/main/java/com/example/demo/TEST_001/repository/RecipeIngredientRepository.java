@@ -0,0 +1,53 @@
+package com.example.demo.TEST_001.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+@Repository
+@RequiredArgsConstructor
+public class RecipeIngredientRepository {
+    private final SqlSessionTemplate sql;
+
+    // foreach 문장 한 번에 담는 행 수
+    private static final int FOREACH_CHUNK_SIZE = 500;
+
+    // 재료 사전에 재료명 추가 (이미 있으면 무시)
+    public void insertVocab(Collection<String> names) {
+        List<String> list = new ArrayList<>(names);
+        for (int i = 0; i < list.size(); i += FOREACH_CHUNK_SIZE) {
+            sql.insert("recipeIngredient.insertVocab", list.subList(i, Math.min(i + FOREACH_CHUNK_SIZE, list.size())));
+        }
+    }
+
+    // 레시피들의 재료 행 삭제
+    public void deleteByRecipeIds(Collection<Long> recipeIds) {
+        List<Long> list = new ArrayList<>(recipeIds);
+        for (int i = 0; i < list.size(); i += FOREACH_CHUNK_SIZE) {
+            sql.delete("recipeIngredient.deleteByRecipeIds", list.subList(i, Math.min(i + FOREACH_CHUNK_SIZE, list.size())));
+        }
+    }
+
+    // 레시피별 재료명 저장 (재료명은 사전에 먼저 추가되어 있어야 함)
+    public void saveRecipeIngredients(Map<Long, ? extends Collection<String>> ingredientsByRecipe) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<Long, ? extends Collection<String>> entry : ingredientsByRecipe.entrySet()) {
+            for (String name : entry.getValue()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("recipeId", entry.getKey());
+                row.put("name", name);
+                rows.add(row);
+            }
+        }
+        for (int i = 0; i < rows.size(); i += FOREACH_CHUNK_SIZE) {
+            sql.insert("recipeIngredient.insertRecipeIngredients", rows.subList(i, Math.min(i + FOREACH_CHUNK_SIZE, rows.size())));
+        }
+    }
+
+    // 재료 행이 하나라도 있는지
+    public boolean existsAny() {
+        return Boolean.TRUE.equals(sql.selectOne("recipeIngredient.existsAny"));
+    }
+}
@@ -1,17 +1,30 @@
 package com.example.demo.TEST_001.repository;
 
+import com.example.demo.TEST_001.dto.RecipeCursorDTO;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
 import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Repository
 @RequiredArgsConstructor
 public class UserRecipeMatchRepository {
     private final SqlSessionTemplate sql;
+    private final BatchStatementExecutor batchExecutor;
+
+    // foreach 다중 VALUES 문장 한 번에 담는 행 수
+    private static final int FOREACH_CHUNK_SIZE = 100;
 
     // 매칭 점수 저장/업데이트 (UPSERT)
     public void saveOrUpdate(Long userId, Long recipeId, int matchedCount, int totalCount, double matchPercent, String matchedIngredients) {
@@ -25,31 +38,275 @@ public class UserRecipeMatchRepository {
         sql.insert("userRecipeMatch.saveOrUpdate", params);
     }
 
-    // 사용자의 모든 매칭 점수 삭제 (재계산 전)
-    public void deleteByUserId(Long userId) {
-        sql.delete("userRecipeMatch.deleteByUserId", userId);
+    // 사용자의 모든 매칭 점수 삭제 (모든 세대)
+    public int deleteByUserId(Long userId) {
+        return sql.delete("userRecipeMatch.deleteByUserId", userId);
+    }
+
+    // 사용자의 특정 레시피 매칭 점수 삭제 (증분 갱신용, 지정 세대)
+    public void deleteByUserIdAndRecipeIds(Long userId, long generation, Collection<Long> recipeIds) {
+        if (recipeIds == null || recipeIds.isEmpty()) {
+            return;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("generation", generation);
+        params.put("recipeIds", recipeIds);
+        sql.delete("userRecipeMatch.deleteByUserIdAndRecipeIds", params);
     }
 
-    // 배치 저장 (성능 최적화)
+    // 배치 저장 (BATCH 실행기면 단건 문장 반복 전송, 아니면 100건씩 다중 VALUES)
     public void batchSave(List<Map<String, Object>> matchList) {
-        if (matchList != null && !matchList.isEmpty()) {
-            sql.insert("userRecipeMatch.batchSave", matchList);
+        if (matchList == null || matchList.isEmpty()) {
+            return;
+        }
+        if (batchExecutor.isEnabled()) {
+            batchExecutor.insertAll("userRecipeMatch.upsertMatch", matchList);
+            return;
+        }
+        for (int i = 0; i < matchList.size(); i += FOREACH_CHUNK_SIZE) {
+            sql.insert("userRecipeMatch.batchSave", matchList.subList(i, Math.min(i + FOREACH_CHUNK_SIZE, matchList.size())));
         }
     }
 
-    // 매칭 점수 조회 개수
-    public int countByUserId(Long userId) {
-        Integer count = sql.selectOne("userRecipeMatch.countByUserId", userId);
-        return count != null ? count : 0;
+    // ========================================
+    // 매칭 세대 관리
+    // ========================================
+
+    // 매칭 상태 행 생성 (없을 때만, 새로 만들었으면 true)
+    public boolean initMatchState(Long userId) {
+        return sql.insert("userRecipeMatch.initMatchState", userId) == 1;
+    }
+
+    // 현재 공개된 세대 조회 (상태 행이 없으면 세대 0 으로 생성)
+    public long getOrCreateCurrentGeneration(Long userId) {
+        sql.insert("userRecipeMatch.initMatchState", userId);
+        Long generation = sql.selectOne("userRecipeMatch.findCurrentGeneration", userId);
+        return generation != null ? generation : 0L;
+    }
+
+    // 새 세대 번호 발급 (상태 행이 없어 갱신된 행이 없으면 null)
+    // 갱신된 행이 없을 때 LAST_INSERT_ID() 는 이 연결의 이전 값을 돌려주므로 번호로 쓰지 않음
+    public Long allocateGeneration(Long userId) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        if (sql.update("userRecipeMatch.allocateGeneration", params) == 0) {
+            return null;
+        }
+        return ((Number) params.get("generation")).longValue();
+    }
+
+    // 세대 공개 + 반영한 냉장고 버전 기록 (더 최신 세대가 이미 공개되어 있으면 false)
+    public boolean publishGeneration(Long userId, long generation, long matchVersion) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("generation", generation);
+        params.put("matchVersion", matchVersion);
+        return sql.update("userRecipeMatch.publishGeneration", params) == 1;
+    }
+
+    // 특정 세대 행 삭제
+    public int deleteGeneration(Long userId, long generation) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("generation", generation);
+        return sql.delete("userRecipeMatch.deleteGeneration", params);
+    }
+
+    // 지정 세대보다 작은(지난) 세대 행을 limit 건 삭제
+    public int purgeGenerationsBelow(Long userId, long generation, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("generation", generation);
+        params.put("limit", limit);
+        return sql.delete("userRecipeMatch.purgeGenerationsBelow", params);
+    }
+
+    // 냉장고 버전 / 매칭 버전 (상태 행이 없으면 null)
+    public Map<String, Object> findMatchVersions(Long userId) {
+        return sql.selectOne("userRecipeMatch.findMatchVersions", userId);
+    }
+
+    // 냉장고 버전 증가
+    public void increaseFridgeVersion(Long userId) {
+        sql.update("userRecipeMatch.increaseFridgeVersion", userId);
+    }
+
+    // 활동 시각 기록
+    public void touchActivity(Long userId) {
+        sql.update("userRecipeMatch.touchActivity", userId);
+    }
+
+    // 매칭 버전 기록
+    public void updateMatchVersion(Long userId, long matchVersion) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("matchVersion", matchVersion);
+        sql.update("userRecipeMatch.updateMatchVersion", params);
+    }
+
+    // ========================================
+    // 압축 저장 모드 (사용자당 한 행)
+    // ========================================
+
+    // 사용자 매칭 결과 저장 (한 행 교체)
+    public void saveMatchBlob(Long userId, int recipeCount, byte[] data) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("recipeCount", recipeCount);
+        params.put("data", data);
+        sql.insert("userRecipeMatch.saveMatchBlob", params);
+    }
+
+    // 여러 사용자 매칭 결과 일괄 저장 (userId / recipeCount / data)
+    public void saveMatchBlobs(List<Map<String, Object>> blobList) {
+        if (blobList == null || blobList.isEmpty()) {
+            return;
+        }
+        if (batchExecutor.isEnabled()) {
+            batchExecutor.insertAll("userRecipeMatch.saveMatchBlob", blobList);
+            return;
+        }
+        for (Map<String, Object> blob : blobList) {
+            sql.insert("userRecipeMatch.saveMatchBlob", blob);
+        }
+    }
+
+    // 사용자 매칭 결과 (없으면 null)
+    public byte[] findMatchBlob(Long userId) {
+        return sql.selectOne("userRecipeMatch.findMatchBlob", userId);
+    }
+
+    // 여러 사용자 매칭 결과 (사용자 ID -> 압축 바이트, IN 절은 1000명씩)
+    public Map<Long, byte[]> findMatchBlobs(Collection<Long> userIds) {
+        Map<Long, byte[]> blobs = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return blobs;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        int chunkSize = 1000;
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("userIds", ids.subList(i, Math.min(i + chunkSize, ids.size())));
+            List<Map<String, Object>> rows = sql.selectList("userRecipeMatch.findMatchBlobs", params);
+            for (Map<String, Object> row : rows) {
+                blobs.put(((Number) row.get("userId")).longValue(), (byte[]) row.get("data"));
+            }
+        }
+        return blobs;
+    }
+
+    // ========================================
+    // 비활성 사용자 정리
+    // ========================================
+
+    // 기준 시각 이전부터 활동이 없는 사용자 (afterUserId 이후 limit 명)
+    public List<Long> findInactiveUserIds(LocalDateTime cutoff, long afterUserId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("cutoff", cutoff);
+        params.put("afterUserId", afterUserId);
+        params.put("limit", limit);
+        return sql.selectList("userRecipeMatch.findInactiveUserIds", params);
+    }
+
+    // 아직 비활성이면 상태 행 잠금 (트랜잭션 안에서 호출, 다시 활동했으면 false)
+    public boolean lockInactiveState(Long userId, LocalDateTime cutoff) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("cutoff", cutoff);
+        return sql.selectOne("userRecipeMatch.lockInactiveState", params) != null;
+    }
+
+    public void deleteMatchBlob(Long userId) {
+        sql.delete("userRecipeMatch.deleteMatchBlob", userId);
+    }
+
+    public void deleteMatchState(Long userId) {
+        sql.delete("userRecipeMatch.deleteMatchState", userId);
+    }
+
+    public void recordEviction(Long userId) {
+        sql.insert("userRecipeMatch.recordEviction", userId);
+    }
+
+    // 정리 기록 삭제 (기록이 있었으면 true)
+    public boolean deleteEviction(Long userId) {
+        return sql.delete("userRecipeMatch.deleteEviction", userId) > 0;
+    }
+
+    public int countEvictions() {
+        return sql.selectOne("userRecipeMatch.countEvictions");
+    }
+
+    // 사용자들의 현재 공개된 세대 (상태 행이 없는 사용자는 제외, IN 절은 1000명씩)
+    public Map<Long, Long> findCurrentGenerations(Collection<Long> userIds) {
+        Map<Long, Long> generations = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return generations;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        int chunkSize = 1000;
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("userIds", ids.subList(i, Math.min(i + chunkSize, ids.size())));
+            List<Map<String, Object>> rows = sql.selectList("userRecipeMatch.findCurrentGenerations", params);
+            for (Map<String, Object> row : rows) {
+                generations.put(((Number) row.get("userId")).longValue(), ((Number) row.get("generation")).longValue());
+            }
+        }
+        return generations;
+    }
+
+    // 레시피 한 건의 현재 세대 매칭 행 삭제 (모든 사용자)
+    public int deleteCurrentByRecipeId(Long recipeId) {
+        return sql.delete("userRecipeMatch.deleteCurrentByRecipeId", recipeId);
+    }
+
+    // DB 집계 매칭: 사용자 냉장고 대표 재료명과 완전 일치하는 레시피를 지정 세대에 저장
+    public int insertExactMatches(Long userId, long generation, Collection<String> canonicalNames) {
+        if (canonicalNames == null || canonicalNames.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("generation", generation);
+        params.put("names", canonicalNames);
+        return sql.insert("userRecipeMatch.insertExactMatches", params);
+    }
+
+    // DB 집계 매칭: 지정 사용자들의 현재 세대에 레시피 한 건의 완전 일치 결과 저장 (사용자 -> 냉장고 대표 재료명)
+    public int insertExactMatchesForRecipe(Long recipeId, Map<Long, ? extends Collection<String>> canonicalNamesByUser) {
+        List<Map<String, Object>> fridgeNames = new ArrayList<>();
+        for (Map.Entry<Long, ? extends Collection<String>> entry : canonicalNamesByUser.entrySet()) {
+            for (String name : entry.getValue()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("userId", entry.getKey());
+                row.put("name", name);
+                fridgeNames.add(row);
+            }
+        }
+        if (fridgeNames.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("recipeId", recipeId);
+        params.put("fridgeNames", fridgeNames);
+        return sql.insert("userRecipeMatch.insertExactMatchesForRecipe", params);
     }
 
     // ========================================
     // 통합 레시피 조회 (API + 사용자)
     // ========================================
 
-    // 모든 레시피 ID 조회 (매칭 계산용 - API + 사용자)
-    public List<Map<String, Object>> findAllRecipeIds() {
-        return sql.selectList("userRecipeMatch.findAllRecipeIds");
+    // 전체 레시피 재료 JSON 을 한 행씩 전달 (카탈로그 구축용 - API + 사용자)
+    // 전체 결과를 목록으로 모으지 않도록 별도 세션의 Cursor 로 한 행씩 받아 옴 (행 스트리밍 중 연결을 점유하므로 전용 세션 사용)
+    public void streamAllRecipes(Consumer<Map<String, Object>> consumer) {
+        try (SqlSession session = sql.getSqlSessionFactory().openSession();
+             Cursor<Map<String, Object>> cursor = session.selectCursor("userRecipeMatch.streamAllRecipes")) {
+            cursor.forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("레시피 스트리밍 조회 종료 실패", e);
+        }
     }
 
     // 통합 레시피 목록 조회 (매칭 점수 포함)
@@ -70,6 +327,57 @@ public class UserRecipeMatchRepository {
         return sql.selectList("userRecipeMatch.findIntegratedRecipesWithMatch", params);
     }
 
+    // 통합 레시피 목록 조회 (매칭 점수 포함, 커서 이후 limit 건)
+    // 매칭 개수가 0 인 커서는 매칭 구간을 다 본 것이므로 미매칭 구간 (생성일, ID) 에서 이어 읽음
+    public List<com.example.demo.TEST_001.dto.UserRecipeDTO> findIntegratedRecipesWithMatchAfter(
+            Long userId, String source, String rcpWay2, String rcpPat2,
+            String searchRecipeName, String searchIngredient, String searchAuthor,
+            RecipeCursorDTO cursor, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("source", source);
+        params.put("rcpWay2", rcpWay2);
+        params.put("rcpPat2", rcpPat2);
+        params.put("searchRecipeName", searchRecipeName);
+        params.put("searchIngredient", searchIngredient);
+        params.put("searchAuthor", searchAuthor);
+        params.put("limit", limit);
+        boolean cursorUnmatched = false;
+        if (cursor != null && cursor.getCreatedAt() != null) {
+            cursorUnmatched = cursor.getMatchedCount() == null || cursor.getMatchedCount() <= 0;
+            params.put("cursorScore", cursor.getMatchScore() != null ? cursor.getMatchScore() : 0.0);
+            params.put("cursorMatched", cursor.getMatchedCount() != null ? cursor.getMatchedCount() : 0);
+            params.put("cursorCreatedAt", cursor.getCreatedAt());
+            params.put("cursorId", cursor.getId());
+        }
+        params.put("cursorUnmatched", cursorUnmatched);
+        return sql.selectList("userRecipeMatch.findIntegratedRecipesWithMatchAfter", params);
+    }
+
+    // 필터 적용된 통합 레시피 ID 조회 (최신순, 조회 시점 매칭 모드용)
+    public List<Long> findIntegratedRecipeIdsFiltered(String source, String rcpWay2, String rcpPat2,
+                                                      String searchRecipeName, String searchIngredient,
+                                                      String searchAuthor) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("source", source);
+        params.put("rcpWay2", rcpWay2);
+        params.put("rcpPat2", rcpPat2);
+        params.put("searchRecipeName", searchRecipeName);
+        params.put("searchIngredient", searchIngredient);
+        params.put("searchAuthor", searchAuthor);
+        return sql.selectList("userRecipeMatch.findIntegratedRecipeIdsFiltered", params);
+    }
+
+    // 통합 레시피 ID 목록으로 조회 (매칭 점수 제외, 조회 시점 매칭 모드용)
+    public List<com.example.demo.TEST_001.dto.UserRecipeDTO> findIntegratedRecipesByIds(Collection<Long> recipeIds) {
+        if (recipeIds == null || recipeIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("recipeIds", recipeIds);
+        return sql.selectList("userRecipeMatch.findIntegratedRecipesByIds", params);
+    }
+
     // 통합 레시피 개수 조회
     public int countIntegratedRecipesFiltered(String source, String rcpWay2, String rcpPat2,
                                                String searchRecipeName, String searchIngredient,
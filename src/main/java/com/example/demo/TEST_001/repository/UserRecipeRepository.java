@@ -1,5 +1,6 @@
 package com.example.demo.TEST_001.repository;
 
+import com.example.demo.TEST_001.dto.RecipeCursorDTO;
 import com.example.demo.TEST_001.dto.UserRecipeDTO;
 import lombok.RequiredArgsConstructor;
 import org.mybatis.spring.SqlSessionTemplate;
@@ -13,6 +14,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UserRecipeRepository {
     private final SqlSessionTemplate sql;
+    private final BatchStatementExecutor batchExecutor;
 
     // 레시피 생성
     public void save(UserRecipeDTO recipeDTO) {
@@ -41,14 +43,25 @@ public class UserRecipeRepository {
         return sql.selectList("userRecipe.findAll", params);
     }
 
-    // 사용자별 레시피 목록 조회
-    public List<UserRecipeDTO> findByUserId(Long userId) {
-        return sql.selectList("userRecipe.findByUserId", userId);
+    // 사용자별 레시피 목록 조회 (커서 이후 limit 건, 최신순)
+    public List<UserRecipeDTO> findByUserId(Long userId, RecipeCursorDTO cursor, int limit) {
+        return sql.selectList("userRecipe.findByUserId", cursorParams(userId, cursor, limit));
     }
 
-    // 좋아요한 레시피 목록 조회
-    public List<UserRecipeDTO> findLikedRecipes(Long userId) {
-        return sql.selectList("userRecipe.findLikedRecipes", userId);
+    // 좋아요한 레시피 목록 조회 (커서 이후 limit 건, 좋아요 최신순)
+    public List<UserRecipeDTO> findLikedRecipes(Long userId, RecipeCursorDTO cursor, int limit) {
+        return sql.selectList("userRecipe.findLikedRecipes", cursorParams(userId, cursor, limit));
+    }
+
+    private Map<String, Object> cursorParams(Long userId, RecipeCursorDTO cursor, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("limit", limit);
+        if (cursor != null && cursor.getCreatedAt() != null) {
+            params.put("cursorCreatedAt", cursor.getCreatedAt());
+            params.put("cursorId", cursor.getId());
+        }
+        return params;
     }
 
     // 레시피 수정
@@ -90,6 +103,20 @@ public class UserRecipeRepository {
         sql.insert("userRecipe.saveApiRecipe", recipeDTO);
     }
 
+    // API 레시피 일괄 저장 (저장 후 각 DTO 에 생성된 id 가 채워짐)
+    public void saveApiRecipes(List<UserRecipeDTO> recipeDTOs) {
+        if (recipeDTOs == null || recipeDTOs.isEmpty()) {
+            return;
+        }
+        if (batchExecutor.isEnabled()) {
+            batchExecutor.insertAll("userRecipe.saveApiRecipe", recipeDTOs);
+            return;
+        }
+        for (UserRecipeDTO recipeDTO : recipeDTOs) {
+            sql.insert("userRecipe.saveApiRecipe", recipeDTO);
+        }
+    }
+
     // API 레시피 중복 체크
     public boolean existsByRcpSeq(String rcpSeq) {
         return sql.selectOne("userRecipe.existsByRcpSeq", rcpSeq);
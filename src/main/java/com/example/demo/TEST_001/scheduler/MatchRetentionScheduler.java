@@ -0,0 +1,24 @@
+package com.example.demo.TEST_001.scheduler;
+
+import com.example.demo.TEST_001.service.MatchRetentionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchRetentionScheduler {
+    private final MatchRetentionService matchRetentionService;
+
+    /**
+     * 매일 오전 4시(한국 시간)에 비활성 사용자 매칭 데이터 정리
+     * cron: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "${recipe.match.retention.cron:0 0 4 * * *}", zone = "Asia/Seoul")
+    public void evictInactiveUsers() {
+        log.info("=== 비활성 사용자 매칭 데이터 정리 스케줄러 시작 ===");
+        matchRetentionService.evictInactiveUsers();
+    }
+}
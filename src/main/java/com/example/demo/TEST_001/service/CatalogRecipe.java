@@ -0,0 +1,10 @@
+package com.example.demo.TEST_001.service;
+
+/**
+ * 카탈로그 스냅샷의 레시피 1건 (재료 JSON을 한 번만 파싱해 둔 불변 형태)
+ * @param id user_recipe.id
+ * @param source 'api' 또는 'user'
+ * @param ingredientIds 재료 사전 ID (오름차순 정렬, 중복 없음)
+ */
+public record CatalogRecipe(Long id, String source, int[] ingredientIds) {
+}
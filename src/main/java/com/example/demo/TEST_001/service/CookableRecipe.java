@@ -0,0 +1,26 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 부족한 재료 수 기준 조회 결과 1건
+ * @param recipeId user_recipe.id
+ * @param score MatchKernel 점수 (matched << 32 | total)
+ * @param matchedIngredients 매칭 재료 표시 문자열
+ * @param missingIngredients 냉장고에 없는 재료명
+ */
+public record CookableRecipe(Long recipeId, long score, String matchedIngredients, List<String> missingIngredients) {
+
+    /**
+     * 부족 재료 적은 순, 매칭 개수 많은 순, 최신순
+     */
+    public static final Comparator<CookableRecipe> COOKABLE_ORDER = Comparator
+            .comparingInt(CookableRecipe::missingCount)
+            .thenComparing(Comparator.comparingInt((CookableRecipe cookable) -> MatchKernel.matchedCount(cookable.score())).reversed())
+            .thenComparing(Comparator.comparingLong(CookableRecipe::recipeId).reversed());
+
+    public int missingCount() {
+        return MatchKernel.totalCount(score) - MatchKernel.matchedCount(score);
+    }
+}
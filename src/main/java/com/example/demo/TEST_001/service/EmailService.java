@@ -1,5 +1,6 @@
 package com.example.demo.TEST_001.service;
 
+import com.example.demo.TEST_001.config.AsyncConfig;
 import com.example.demo.TEST_001.dto.NotificationDTO;
 import com.example.demo.TEST_001.dto.UserDTO;
 import lombok.extern.slf4j.Slf4j;
@@ -88,7 +89,7 @@ public class EmailService {
     /**
      * 비동기 이메일 발송 (유통기한 알림용)
      */
-    @Async
+    @Async(AsyncConfig.EMAIL_EXECUTOR)
     public void sendExpiryNotificationEmail(UserDTO user, NotificationDTO notification) {
         if (user.getEmail() == null || user.getEmail().isBlank()) {
             log.info("사용자 이메일 미등록: userId={}", user.getId());
@@ -206,7 +207,7 @@ public class EmailService {
     /**
      * 일일 유통기한 알림 통합 이메일 발송 (사용자당 하나의 이메일)
      */
-    @Async
+    @Async(AsyncConfig.EMAIL_EXECUTOR)
     public void sendDailyExpiryDigestEmail(UserDTO user, List<Map<String, Object>> items) {
         if (user.getEmail() == null || user.getEmail().isBlank()) {
             log.info("사용자 이메일 미등록: userId={}", user.getId());
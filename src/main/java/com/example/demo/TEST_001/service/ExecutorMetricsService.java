@@ -0,0 +1,49 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.config.CountingRejectedExecutionHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 실행기별 실행 중/대기/거절 현황 조회
+ */
+@Service
+@RequiredArgsConstructor
+public class ExecutorMetricsService {
+
+    // 빈 이름 -> 실행기 (AsyncConfig 에 등록된 전용 실행기)
+    private final Map<String, ThreadPoolTaskExecutor> executors;
+
+    public Map<String, Object> getExecutorMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        executors.forEach((name, executor) -> metrics.put(name, describe(executor)));
+        return metrics;
+    }
+
+    private Map<String, Object> describe(ThreadPoolTaskExecutor executor) {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("corePoolSize", pool.getCorePoolSize());
+        stats.put("maxPoolSize", pool.getMaximumPoolSize());
+        stats.put("poolSize", pool.getPoolSize());
+        stats.put("active", pool.getActiveCount());
+        stats.put("queued", pool.getQueue().size());
+        stats.put("queueRemaining", pool.getQueue().remainingCapacity());
+        stats.put("completed", pool.getCompletedTaskCount());
+
+        if (pool.getRejectedExecutionHandler() instanceof CountingRejectedExecutionHandler handler) {
+            stats.put("rejectionPolicy", handler.getPolicyName());
+            stats.put("rejected", handler.getRejectedCount());
+        } else {
+            stats.put("rejectionPolicy", pool.getRejectedExecutionHandler().getClass().getSimpleName());
+            stats.put("rejected", 0L);
+        }
+        return stats;
+    }
+}
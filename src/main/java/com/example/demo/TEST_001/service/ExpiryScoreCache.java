@@ -0,0 +1,190 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.dto.IngredientDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 냉장고 지문(정규화된 재료명 + 유통기한) 기준 유통기한 가중 점수 캐시
+ * - 점수는 계산한 날을 기준일로 저장하므로 날짜가 바뀌어도 그대로 사용 (ExpiryScores 가 공통 배율만 다시 구함)
+ * - 재료나 유통기한이 바뀌면 지문이 달라져 새로 계산하고, 카탈로그 스냅샷이 바뀌면 캐시를 비움
+ *   (지난 스냅샷을 붙잡은 결과가 힙에 쌓이지 않도록 현재 스냅샷 결과만 보관)
+ * - 기준일에서 rebase-days 이상 지난 결과는 배율이 너무 커지지 않도록 오늘 기준으로 다시 계산
+ * - 같은 재료명이 여러 개면 유통기한이 가장 빠른 것을 사용하고, 유통기한이 없는 재료는 가중치 0
+ */
+@Component
+public class ExpiryScoreCache {
+
+    // 가중치 지수 상한 (오래 지났거나 아주 먼 유통기한에서 2^(일수/반감기) 가 넘치지 않도록)
+    private static final long MAX_DAYS = 365;
+
+    private final IngredientVocabulary ingredientVocabulary;
+    private final double halfLifeDays;
+    private final int rebaseDays;
+    private final int maxEntries;
+
+    // 지문 -> 계산 결과 (접근 순서 유지)
+    private final LinkedHashMap<String, ExpiryScores> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // 캐시에 담긴 결과의 스냅샷 버전 (entries 잠금 안에서만 접근)
+    private long catalogVersion = 0;
+
+    public ExpiryScoreCache(IngredientVocabulary ingredientVocabulary,
+                            @Value("${recipe.match.expiry.half-life-days:3}") double halfLifeDays,
+                            @Value("${recipe.match.expiry.rebase-days:30}") int rebaseDays,
+                            @Value("${recipe.match.expiry.max-entries:256}") int maxEntries) {
+        this.ingredientVocabulary = ingredientVocabulary;
+        this.halfLifeDays = Math.max(0.5, halfLifeDays);
+        this.rebaseDays = Math.max(1, rebaseDays);
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExpiryScores> eldest) {
+                return size() > ExpiryScoreCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 냉장고 재료에 대한 유통기한 가중 점수 (캐시에 없거나 스냅샷이 바뀌었거나 기준일이 오래되었으면 계산)
+     */
+    public ExpiryScores getOrCompute(RecipeCatalogSnapshot catalog, List<IngredientDTO> ingredients, LocalDate today) {
+        Map<String, LocalDate> soonestExpiry = soonestExpiry(ingredients);
+        if (maxEntries == 0) {
+            return compute(catalog, soonestExpiry, today);
+        }
+
+        String fingerprint = FridgeMatchCache.fingerprint(canonicalize(soonestExpiry));
+        synchronized (entries) {
+            invalidateBefore(catalog.getVersion());
+            ExpiryScores cached = entries.get(fingerprint);
+            if (cached != null && cached.getCatalog() == catalog
+                    && Math.abs(today.toEpochDay() - cached.getBaseEpochDay()) < rebaseDays) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        ExpiryScores computed = compute(catalog, soonestExpiry, today);
+        synchronized (entries) {
+            // 호출 측 스냅샷이 더 오래됐으면 캐시에 넣지 않음 (캐시에는 현재 스냅샷 결과만)
+            if (catalog.getVersion() >= catalogVersion) {
+                entries.put(fingerprint, computed);
+            }
+        }
+        return computed;
+    }
+
+    /**
+     * 카탈로그 스냅샷 교체 알림 - 더 오래된 스냅샷 기준 결과를 모두 버림
+     */
+    public void invalidateBefore(long version) {
+        synchronized (entries) {
+            if (version > catalogVersion) {
+                entries.clear();
+                catalogVersion = version;
+            }
+        }
+    }
+
+    /**
+     * 캐시 현황 (크기 / 적중 / 미적중)
+     */
+    public Map<String, Object> getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("halfLifeDays", halfLifeDays);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    private ExpiryScores compute(RecipeCatalogSnapshot catalog, Map<String, LocalDate> soonestExpiry, LocalDate today) {
+        long baseEpochDay = today.toEpochDay();
+        FridgeVector fridge = FridgeVector.encode(ingredientVocabulary, soonestExpiry.keySet());
+
+        // 냉장고 재료 인덱스 -> 기준일 가중치
+        double[] weights = new double[fridge.ingredientCount()];
+        boolean anyWeight = false;
+        for (int i = 0; i < weights.length; i++) {
+            LocalDate expiry = soonestExpiry.get(fridge.ingredientNameAt(i));
+            if (expiry != null) {
+                long days = Math.max(-MAX_DAYS, Math.min(MAX_DAYS, expiry.toEpochDay() - baseEpochDay));
+                weights[i] = Math.pow(0.5, days / halfLifeDays);
+                anyWeight = true;
+            }
+        }
+        if (!anyWeight) {
+            return new ExpiryScores(catalog, baseEpochDay, halfLifeDays, new int[0], new double[0]);
+        }
+
+        BitSet candidates = catalog.findCandidates(fridge);
+        int[] positions = new int[candidates.cardinality()];
+        double[] baseScores = new double[positions.length];
+        // 레시피 재료 여러 개가 같은 냉장고 재료와 일치해도 한 번만 더함
+        int[] countedFor = new int[weights.length];
+        Arrays.fill(countedFor, -1);
+
+        int count = 0;
+        for (int position = candidates.nextSetBit(0); position >= 0; position = candidates.nextSetBit(position + 1)) {
+            double score = 0.0;
+            for (int id : catalog.getRecipeAt(position).ingredientIds()) {
+                int owner = fridge.ownerOf(id);
+                if (owner >= 0 && countedFor[owner] != position) {
+                    countedFor[owner] = position;
+                    score += weights[owner];
+                }
+            }
+            if (score > 0.0) {
+                positions[count] = position;
+                baseScores[count] = score;
+                count++;
+            }
+        }
+        return new ExpiryScores(catalog, baseEpochDay, halfLifeDays,
+                Arrays.copyOf(positions, count), Arrays.copyOf(baseScores, count));
+    }
+
+    // 정규화된 재료명 -> 가장 빠른 유통기한 (유통기한 없는 재료는 null)
+    private Map<String, LocalDate> soonestExpiry(List<IngredientDTO> ingredients) {
+        Map<String, LocalDate> soonest = new TreeMap<>();
+        for (IngredientDTO ingredient : ingredients) {
+            String normalized = ingredientVocabulary.normalize(ingredient.getIngredientName());
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            LocalDate expiry = ingredient.getExpiryDate();
+            if (!soonest.containsKey(normalized)) {
+                soonest.put(normalized, expiry);
+            } else if (expiry != null) {
+                LocalDate current = soonest.get(normalized);
+                if (current == null || expiry.isBefore(current)) {
+                    soonest.put(normalized, expiry);
+                }
+            }
+        }
+        return soonest;
+    }
+
+    // "재료명 \t 유통기한" (재료명 정렬 순, 같은 냉장고면 같은 지문)
+    private static List<String> canonicalize(Map<String, LocalDate> soonestExpiry) {
+        List<String> lines = new ArrayList<>(soonestExpiry.size());
+        for (Map.Entry<String, LocalDate> entry : soonestExpiry.entrySet()) {
+            lines.add(entry.getKey() + "\t" + (entry.getValue() != null ? entry.getValue() : ""));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.TEST_001.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 냉장고 하나(재료명 + 유통기한)에 대한 유통기한 가중 점수
+ * 매칭된 냉장고 재료의 가중치는 0.5^(유통기한까지 남은 일수 / 반감기) 이고, 레시피 점수는 매칭된 냉장고 재료 가중치의 합
+ * 남은 일수 = (유통기한 - 기준일) - (오늘 - 기준일) 이므로 점수 = 2^((오늘 - 기준일) / 반감기) * 기준일 점수
+ * 기준일 점수만 보관하고 날짜가 바뀌면 모든 레시피에 공통인 배율만 다시 구함 (레시피별 재채점 없음, 순위도 그대로)
+ */
+public final class ExpiryScores {
+
+    private final RecipeCatalogSnapshot catalog;
+    private final long baseEpochDay;     // 기준일 (계산한 날)
+    private final double halfLifeDays;
+    private final int[] positions;       // 유통기한 있는 냉장고 재료와 매칭된 레시피 위치 (오름차순)
+    private final double[] baseScores;   // 기준일 점수 (positions 와 같은 순서)
+
+    ExpiryScores(RecipeCatalogSnapshot catalog, long baseEpochDay, double halfLifeDays,
+                 int[] positions, double[] baseScores) {
+        this.catalog = catalog;
+        this.baseEpochDay = baseEpochDay;
+        this.halfLifeDays = halfLifeDays;
+        this.positions = positions;
+        this.baseScores = baseScores;
+    }
+
+    public RecipeCatalogSnapshot getCatalog() {
+        return catalog;
+    }
+
+    public long getBaseEpochDay() {
+        return baseEpochDay;
+    }
+
+    /**
+     * 점수가 있는 레시피 수
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * 기준일에서 today 까지 지난 날짜만큼의 공통 배율
+     */
+    public double multiplier(LocalDate today) {
+        return Math.pow(2.0, (today.toEpochDay() - baseEpochDay) / halfLifeDays);
+    }
+
+    /**
+     * 기준일 점수 (매칭된 재료가 없거나 유통기한이 없는 재료만 매칭되면 0)
+     * 같은 날 기준이면 이 값의 순서가 오늘 점수의 순서와 같음
+     */
+    public double baseScoreOf(Long recipeId) {
+        int position = catalog.positionOf(recipeId);
+        if (position < 0) {
+            return 0.0;
+        }
+        int index = Arrays.binarySearch(positions, position);
+        return index >= 0 ? baseScores[index] : 0.0;
+    }
+
+    /**
+     * today 기준 점수
+     */
+    public double scoreOf(Long recipeId, LocalDate today) {
+        return baseScoreOf(recipeId) * multiplier(today);
+    }
+}
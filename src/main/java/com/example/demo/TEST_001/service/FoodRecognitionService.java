@@ -1,5 +1,6 @@
 package com.example.demo.TEST_001.service;
 
+import com.example.demo.TEST_001.config.AsyncConfig;
 import com.example.demo.TEST_001.dto.FoodRecognitionResultDTO;
 import com.example.demo.TEST_001.dto.PredictionDTO;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -8,11 +9,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -293,6 +296,14 @@ public class FoodRecognitionService {
         this.huggingFaceRestTemplate = new RestTemplate(factory);
     }
 
+    /**
+     * 이미지 인식 전용 실행기에서 음식 인식 (동시 인식 요청 수 제한)
+     */
+    @Async(AsyncConfig.RECOGNITION_EXECUTOR)
+    public CompletableFuture<FoodRecognitionResultDTO> recognizeFoodAsync(MultipartFile file) {
+        return CompletableFuture.completedFuture(recognizeFood(file));
+    }
+
     /**
      * 이미지를 Hugging Face API로 전송하여 음식 인식
      */
@@ -0,0 +1,194 @@
+package com.example.demo.TEST_001.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 냉장고 지문(정규화된 재료 집합의 해시) 기준 매칭 결과 캐시
+ * 재료 구성이 같은 사용자들은 한 번 계산한 결과를 함께 사용하고,
+ * 같은 지문을 동시에 요청하면 먼저 시작한 계산 하나를 기다림
+ * - 재료 순서와 무관하도록 정렬된 재료명으로 지문과 냉장고 벡터를 만듦
+ * - 결과는 만들 때의 카탈로그 스냅샷에 묶이며, 스냅샷이 바뀌면 캐시를 비움
+ *   (지난 스냅샷을 붙잡은 결과가 남아 레시피 배열 복사본이 힙에 쌓이지 않도록 현재 스냅샷 결과만 보관)
+ * - 최근 사용 순(LRU)으로 최대 개수를 넘으면 가장 오래 쓰지 않은 결과부터 제거
+ */
+@Component
+public class FridgeMatchCache {
+
+    private final IngredientVocabulary ingredientVocabulary;
+    private final ParallelMatchScorer matchScorer;
+    private final int maxEntries;
+
+    // 지문 -> 계산 결과 (접근 순서 유지, 계산 중이면 미완료 future)
+    private final LinkedHashMap<String, CompletableFuture<FridgeMatchResult>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // 캐시에 담긴 결과의 스냅샷 버전 (entries 잠금 안에서만 접근)
+    private long catalogVersion = 0;
+
+    private record ScoredRecipe(CatalogRecipe recipe, long score) {
+    }
+
+    public FridgeMatchCache(IngredientVocabulary ingredientVocabulary,
+                            ParallelMatchScorer matchScorer,
+                            @Value("${recipe.match.fingerprint-cache.max-entries:256}") int maxEntries) {
+        this.ingredientVocabulary = ingredientVocabulary;
+        this.matchScorer = matchScorer;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<FridgeMatchResult>> eldest) {
+                boolean evict = size() > FridgeMatchCache.this.maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * 냉장고 재료에 대한 매칭 결과 (캐시에 없거나 스냅샷이 바뀌었으면 계산)
+     */
+    public FridgeMatchResult getOrCompute(RecipeCatalogSnapshot catalog, Collection<String> ingredientNames) {
+        List<String> canonicalNames = canonicalize(ingredientNames);
+        if (maxEntries == 0) {
+            return compute(catalog, canonicalNames);
+        }
+
+        String fingerprint = fingerprint(canonicalNames);
+        CompletableFuture<FridgeMatchResult> created = null;
+        CompletableFuture<FridgeMatchResult> future;
+        synchronized (entries) {
+            invalidateBefore(catalog.getVersion());
+            if (catalog.getVersion() < catalogVersion) {
+                // 호출 측이 더 오래된 스냅샷을 들고 있음 - 캐시에 넣지 않고 따로 계산
+                misses.incrementAndGet();
+                future = null;
+            } else {
+                future = entries.get(fingerprint);
+                if (future == null) {
+                    created = new CompletableFuture<>();
+                    entries.put(fingerprint, created);
+                    future = created;
+                    misses.incrementAndGet();
+                } else {
+                    hits.incrementAndGet();
+                }
+            }
+        }
+        if (future == null) {
+            return compute(catalog, canonicalNames);
+        }
+
+        if (created != null) {
+            try {
+                created.complete(compute(catalog, canonicalNames));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                synchronized (entries) {
+                    entries.remove(fingerprint, created);
+                }
+                throw e;
+            }
+        }
+
+        // 캐시에는 현재 스냅샷 결과만 있으므로 호출 측 스냅샷과 같음
+        return future.join();
+    }
+
+    /**
+     * 카탈로그 스냅샷 교체 알림 - 더 오래된 스냅샷 기준 결과를 모두 버림
+     * (다음 요청을 기다리지 않고 지난 스냅샷을 바로 놓아주도록 RecipeCatalogService 가 교체 직후 호출)
+     */
+    public void invalidateBefore(long version) {
+        synchronized (entries) {
+            if (version > catalogVersion) {
+                if (!entries.isEmpty()) {
+                    entries.clear();
+                    invalidations.incrementAndGet();
+                }
+                catalogVersion = version;
+            }
+        }
+    }
+
+    /**
+     * 캐시 현황 (크기 / 적중률 / 제거 건수 / 스냅샷 교체로 비운 횟수)
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        int size;
+        long version;
+        synchronized (entries) {
+            size = entries.size();
+            version = catalogVersion;
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("catalogVersion", version);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", requests > 0 ? Math.round(hitCount * 1000.0 / requests) / 1000.0 : 0.0);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private FridgeMatchResult compute(RecipeCatalogSnapshot catalog, List<String> canonicalNames) {
+        FridgeVector fridge = FridgeVector.encode(ingredientVocabulary, canonicalNames);
+        if (fridge.isEmpty()) {
+            return new FridgeMatchResult(catalog, fridge, 0, new int[0], new long[0]);
+        }
+
+        BitSet candidates = catalog.findCandidates(fridge);
+        // 병렬 채점 결과는 스냅샷 위치 순서로 합쳐짐
+        List<ScoredRecipe> scored = matchScorer.scoreCandidates(catalog, fridge.getMatchBits(), candidates,
+                ScoredRecipe::new);
+
+        int[] positions = new int[scored.size()];
+        long[] scores = new long[scored.size()];
+        for (int i = 0; i < scored.size(); i++) {
+            positions[i] = catalog.positionOf(scored.get(i).recipe().id());
+            scores[i] = scored.get(i).score();
+        }
+        return new FridgeMatchResult(catalog, fridge, candidates.cardinality(), positions, scores);
+    }
+
+    // 정규화 + 중복 제거 + 정렬 (재료 순서가 달라도 같은 지문/같은 결과)
+    private List<String> canonicalize(Collection<String> ingredientNames) {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String name : ingredientNames) {
+            String normalized = ingredientVocabulary.normalize(name);
+            if (!normalized.isEmpty()) {
+                sorted.add(normalized);
+            }
+        }
+        return new ArrayList<>(sorted);
+    }
+
+    static String fingerprint(List<String> canonicalNames) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.join("\n", canonicalNames).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 냉장고 하나(정규화된 재료 집합)에 대한 카탈로그 전체 매칭 결과
+ * 매칭된 레시피의 스냅샷 내 위치(오름차순)와 점수를 배열로 보관하여,
+ * 같은 재료 집합을 가진 사용자들이 계산 결과를 함께 사용
+ */
+public final class FridgeMatchResult implements MatchScoreSource {
+
+    private final RecipeCatalogSnapshot catalog;
+    private final FridgeVector fridge;
+    private final int candidateCount;
+    private final int[] positions;       // 매칭된 레시피 위치 (오름차순)
+    private final long[] scores;         // MatchKernel 점수 (positions 와 같은 순서)
+    private final String[] matchedIngredients;  // 매칭 재료 표시 문자열 (처음 필요할 때 채움)
+
+    FridgeMatchResult(RecipeCatalogSnapshot catalog, FridgeVector fridge, int candidateCount,
+                      int[] positions, long[] scores) {
+        this.catalog = catalog;
+        this.fridge = fridge;
+        this.candidateCount = candidateCount;
+        this.positions = positions;
+        this.scores = scores;
+        this.matchedIngredients = new String[positions.length];
+    }
+
+    public RecipeCatalogSnapshot getCatalog() {
+        return catalog;
+    }
+
+    public FridgeVector getFridge() {
+        return fridge;
+    }
+
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * 매칭된 레시피 수
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    public CatalogRecipe recipeAt(int index) {
+        return catalog.getRecipeAt(positions[index]);
+    }
+
+    public long scoreAt(int index) {
+        return scores[index];
+    }
+
+    /**
+     * 매칭 재료 표시 문자열 (같은 결과를 공유하는 사용자끼리 한 번만 생성)
+     */
+    public String matchedIngredientsAt(int index) {
+        String described = matchedIngredients[index];
+        if (described == null) {
+            described = fridge.describeMatches(recipeAt(index).ingredientIds(), catalog.getVocabulary());
+            matchedIngredients[index] = described;
+        }
+        return described;
+    }
+
+    /**
+     * 매칭 재료 목록 (압축 저장용)
+     */
+    public List<FridgeVector.MatchedIngredient> matchedIngredientListAt(int index) {
+        return fridge.matchedIngredients(recipeAt(index).ingredientIds(), catalog.getVocabulary());
+    }
+
+    @Override
+    public long scoreOf(Long recipeId) {
+        int position = catalog.positionOf(recipeId);
+        return position >= 0 ? scoreOfPosition(position) : 0L;
+    }
+
+    @Override
+    public String matchedIngredientsOf(Long recipeId) {
+        int position = catalog.positionOf(recipeId);
+        return position >= 0 ? matchedIngredientsOfPosition(position) : null;
+    }
+
+    /**
+     * 스냅샷 내 위치의 점수 (매칭되지 않은 레시피는 0)
+     */
+    public long scoreOfPosition(int position) {
+        int index = Arrays.binarySearch(positions, position);
+        return index >= 0 ? scores[index] : 0L;
+    }
+
+    /**
+     * 스냅샷 내 위치의 매칭 재료 표시 문자열 (매칭되지 않은 레시피는 null)
+     */
+    public String matchedIngredientsOfPosition(int position) {
+        int index = Arrays.binarySearch(positions, position);
+        return index >= 0 ? matchedIngredientsAt(index) : null;
+    }
+}
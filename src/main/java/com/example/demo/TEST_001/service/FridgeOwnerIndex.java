@@ -0,0 +1,148 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.repository.IngredientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 냉장고 재료 역색인 (재료명 -> 그 재료를 가진 사용자)
+ * 매칭 테이블을 유지 중인 사용자(user_match_state 보유)만 대상으로 하며,
+ * 레시피 한 건이 바뀌었을 때 재료가 하나라도 겹치는 사용자만 찾는 데 사용
+ * - usersByName: 냉장고 재료명 -> 사용자 (레시피 재료명의 부분 문자열로 조회하면 완전 일치 + r.contains(u))
+ * - usersBySubstring: 냉장고 재료명의 모든 부분 문자열 -> 사용자 (레시피 재료명으로 조회하면 u.contains(r))
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FridgeOwnerIndex {
+
+    private final IngredientRepository ingredientRepository;
+    private final IngredientVocabulary ingredientVocabulary;
+
+    // 사용자 -> 냉장고 재료명 (유통기한 임박순, 매칭 재료 표시 순서와 동일)
+    private final Map<Long, List<String>> namesByUser = new HashMap<>();
+    private final Map<String, Set<Long>> usersByName = new HashMap<>();
+    private final Map<String, Set<Long>> usersBySubstring = new HashMap<>();
+    private boolean loaded = false;
+
+    /**
+     * 레시피 재료와 완전/부분 일치하는 재료를 가진 사용자 조회
+     */
+    public synchronized Set<Long> findUsersSharingAny(Collection<String> recipeIngredientNames) {
+        ensureLoaded();
+        Set<Long> users = new HashSet<>();
+        for (String name : recipeIngredientNames) {
+            String recipeIngredient = ingredientVocabulary.normalize(name);
+            if (recipeIngredient.isEmpty()) {
+                continue;
+            }
+            users.addAll(usersBySubstring.getOrDefault(recipeIngredient, Collections.emptySet()));
+            for (String substring : substrings(recipeIngredient)) {
+                users.addAll(usersByName.getOrDefault(substring, Collections.emptySet()));
+            }
+        }
+        return users;
+    }
+
+    /**
+     * 사용자의 냉장고 재료명 (색인에 없으면 빈 목록)
+     */
+    public synchronized List<String> getIngredientNames(Long userId) {
+        ensureLoaded();
+        return namesByUser.getOrDefault(userId, Collections.emptyList());
+    }
+
+    /**
+     * 사용자 냉장고 재료 교체 (매칭 재계산/증분 갱신 시 호출)
+     * 아직 적재 전이면 최초 적재 시 DB에서 함께 읽히므로 무시
+     */
+    public synchronized void update(Long userId, Collection<String> ingredientNames) {
+        if (!loaded || userId == null) {
+            return;
+        }
+        unindex(userId);
+        index(userId, ingredientNames);
+    }
+
+    /**
+     * 사용자 제거 (매칭 데이터 삭제 시)
+     */
+    public synchronized void remove(Long userId) {
+        if (loaded && userId != null) {
+            unindex(userId);
+        }
+    }
+
+    public synchronized int size() {
+        return namesByUser.size();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+
+        Map<Long, List<String>> rows = new LinkedHashMap<>();
+        for (Map<String, Object> row : ingredientRepository.findActiveIngredientNamesOfMatchedUsers()) {
+            Long userId = ((Number) row.get("userId")).longValue();
+            rows.computeIfAbsent(userId, id -> new ArrayList<>()).add((String) row.get("ingredientName"));
+        }
+        rows.forEach(this::index);
+        loaded = true;
+
+        log.info("냉장고 재료 역색인 구축 완료 - {}ms 소요, 사용자 {}명, 재료명 {}종",
+                (System.currentTimeMillis() - startTime), namesByUser.size(), usersByName.size());
+    }
+
+    private void index(Long userId, Collection<String> ingredientNames) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String name : ingredientNames) {
+            String normalized = ingredientVocabulary.normalize(name);
+            if (!normalized.isEmpty()) {
+                distinct.add(normalized);
+            }
+        }
+        namesByUser.put(userId, List.copyOf(distinct));
+        for (String name : distinct) {
+            usersByName.computeIfAbsent(name, key -> new HashSet<>()).add(userId);
+            for (String substring : substrings(name)) {
+                usersBySubstring.computeIfAbsent(substring, key -> new HashSet<>()).add(userId);
+            }
+        }
+    }
+
+    private void unindex(Long userId) {
+        List<String> names = namesByUser.remove(userId);
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            removeFrom(usersByName, name, userId);
+            for (String substring : substrings(name)) {
+                removeFrom(usersBySubstring, substring, userId);
+            }
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<Long>> index, String key, Long userId) {
+        Set<Long> users = index.get(key);
+        if (users != null && users.remove(userId) && users.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    // 비어 있지 않은 모든 부분 문자열 (재료명은 짧으므로 길이 제곱 비용)
+    private static Set<String> substrings(String name) {
+        Set<String> result = new HashSet<>();
+        for (int start = 0; start < name.length(); start++) {
+            for (int end = start + 1; end <= name.length(); end++) {
+                result.add(name.substring(start, end));
+            }
+        }
+        return result;
+    }
+}
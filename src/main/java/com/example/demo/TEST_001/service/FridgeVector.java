@@ -0,0 +1,244 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.*;
+
+/**
+ * 사용자 냉장고를 재료 사전 ID 기준 비트셋으로 표현한 것
+ * 레시피 재료 ID 하나가 냉장고 재료와 완전/부분 일치하는지 비트 하나로 판정할 수 있다
+ */
+public final class FridgeVector {
+
+    private final String[] userIngredientNames;
+    private final long[] matchBits;      // 완전 또는 부분 일치하는 재료 ID
+    private final long[] exactBits;      // 완전 일치하는 재료 ID
+    // 매칭된 재료 ID (오름차순) 와 일치한 냉장고 재료 인덱스 (매칭된 재료만 저장)
+    private final int[] ownerIds;
+    private final int[] owners;
+
+    private FridgeVector(String[] userIngredientNames, long[] matchBits, long[] exactBits, int[] ownerIds, int[] owners) {
+        this.userIngredientNames = userIngredientNames;
+        this.matchBits = matchBits;
+        this.exactBits = exactBits;
+        this.ownerIds = ownerIds;
+        this.owners = owners;
+    }
+
+    /**
+     * 냉장고 재료명 목록을 사전 ID 비트셋으로 변환
+     * 냉장고 재료마다 완전 일치는 해시 조회로, 부분 일치는 사전의 조각 색인으로 일치하는 재료 ID 만 찾아 기록
+     * (사전 전체를 훑지 않으므로 비용이 사전 크기가 아닌 냉장고 재료와 일치한 재료 수에 비례)
+     */
+    public static FridgeVector encode(IngredientVocabulary vocabulary, Collection<String> ingredientNames) {
+        return encode(vocabulary, ingredientNames, null);
+    }
+
+    /**
+     * 지정한 재료 ID만 판정하여 변환 (레시피 한 건을 여러 냉장고에 채점할 때 사전 전체를 훑지 않도록)
+     * @param ingredientIds 판정할 재료 사전 ID (null 이면 냉장고 재료와 일치하는 사전의 모든 재료)
+     */
+    public static FridgeVector encode(IngredientVocabulary vocabulary, Collection<String> ingredientNames, int[] ingredientIds) {
+        // 정규화된 재료명 -> 처음 나온 인덱스 (입력 순서 유지)
+        Map<String, Integer> distinct = new LinkedHashMap<>();
+        for (String name : ingredientNames) {
+            String normalized = vocabulary.normalize(name);
+            if (!normalized.isEmpty()) {
+                distinct.putIfAbsent(normalized, distinct.size());
+            }
+        }
+        String[] userNames = distinct.keySet().toArray(new String[0]);
+
+        int vocabularySize = vocabulary.size();
+        Builder builder = new Builder(vocabularySize);
+        if (userNames.length == 0) {
+            return builder.build(userNames);
+        }
+
+        if (ingredientIds == null) {
+            // 완전 일치를 먼저 기록하고, 부분 일치는 앞선 냉장고 재료가 먼저 차지
+            for (int owner = 0; owner < userNames.length; owner++) {
+                builder.exact(vocabulary.idOfNormalized(userNames[owner]), owner);
+            }
+            for (int owner = 0; owner < userNames.length; owner++) {
+                String userName = userNames[owner];
+                // 레시피 재료명이 냉장고 재료명을 포함
+                for (int id : vocabulary.idsContaining(userName)) {
+                    builder.partial(id, owner);
+                }
+                // 냉장고 재료명이 레시피 재료명을 포함
+                for (int start = 0; start < userName.length(); start++) {
+                    for (int end = start + 1; end <= userName.length(); end++) {
+                        builder.partial(vocabulary.idOfNormalized(userName.substring(start, end)), owner);
+                    }
+                }
+            }
+            return builder.build(userNames);
+        }
+
+        PartialMatcher partialMatcher = new PartialMatcher(userNames);
+        for (int id : ingredientIds) {
+            if (id >= vocabularySize) {
+                continue;
+            }
+            String recipeIngredient = vocabulary.nameOf(id);
+
+            // 완전 일치
+            Integer exactOwner = distinct.get(recipeIngredient);
+            if (exactOwner != null) {
+                builder.exact(id, exactOwner);
+                continue;
+            }
+
+            // 부분 일치 (Aho–Corasick + 부분 문자열 역색인)
+            builder.partial(id, partialMatcher.firstMatch(recipeIngredient));
+        }
+        return builder.build(userNames);
+    }
+
+    /**
+     * 매칭 비트와 일치한 냉장고 재료 기록 (재료 ID 마다 처음 기록된 냉장고 재료만 남김)
+     */
+    private static final class Builder {
+
+        private final int vocabularySize;
+        private final long[] matchBits;
+        private final long[] exactBits;
+        private long[] matches = new long[16];   // (재료 ID << 32) | 냉장고 재료 인덱스
+        private int count = 0;
+
+        private Builder(int vocabularySize) {
+            this.vocabularySize = vocabularySize;
+            this.matchBits = new long[(vocabularySize + 63) >>> 6];
+            this.exactBits = new long[matchBits.length];
+        }
+
+        private void exact(int id, int owner) {
+            if (add(id, owner)) {
+                exactBits[id >>> 6] |= 1L << id;
+            }
+        }
+
+        private void partial(int id, int owner) {
+            add(id, owner);
+        }
+
+        // 아직 매칭되지 않은 재료면 기록 (사전 밖이거나 이미 매칭된 재료면 false)
+        private boolean add(int id, int owner) {
+            if (id < 0 || owner < 0 || id >= vocabularySize || isSet(matchBits, id)) {
+                return false;
+            }
+            matchBits[id >>> 6] |= 1L << id;
+            if (count == matches.length) {
+                matches = Arrays.copyOf(matches, count * 2);
+            }
+            matches[count++] = ((long) id << 32) | owner;
+            return true;
+        }
+
+        private FridgeVector build(String[] userNames) {
+            long[] sorted = Arrays.copyOf(matches, count);
+            Arrays.sort(sorted);
+            int[] ownerIds = new int[count];
+            int[] owners = new int[count];
+            for (int i = 0; i < count; i++) {
+                ownerIds[i] = (int) (sorted[i] >>> 32);
+                owners[i] = (int) sorted[i];
+            }
+            return new FridgeVector(userNames, matchBits, exactBits, ownerIds, owners);
+        }
+    }
+
+    public long[] getMatchBits() {
+        return matchBits;
+    }
+
+    public boolean isEmpty() {
+        return userIngredientNames.length == 0;
+    }
+
+    /**
+     * 냉장고 재료 수 (정규화 후 중복 제거)
+     */
+    public int ingredientCount() {
+        return userIngredientNames.length;
+    }
+
+    /**
+     * index 번째 냉장고 재료명 (정규화됨, encode 에 넘긴 순서에서 처음 나온 순)
+     */
+    public String ingredientNameAt(int index) {
+        return userIngredientNames[index];
+    }
+
+    /**
+     * 재료 ID 와 일치한 냉장고 재료 인덱스 (매칭되지 않았으면 -1)
+     */
+    public int ownerOf(int id) {
+        int index = Arrays.binarySearch(ownerIds, id);
+        return index >= 0 ? owners[index] : -1;
+    }
+
+    /**
+     * 매칭된 재료 1건
+     * @param name 완전 일치: 레시피 재료명, 부분 일치: 일치한 냉장고 재료명
+     * @param partial 부분 일치 여부
+     */
+    public record MatchedIngredient(String name, boolean partial) {
+        public String label() {
+            return partial ? name + "(부분)" : name;
+        }
+    }
+
+    /**
+     * 매칭된 재료 표시 문자열 (완전 일치: 재료명, 부분 일치: "냉장고 재료명(부분)")
+     */
+    public String describeMatches(int[] recipeIngredientIds, IngredientVocabulary vocabulary) {
+        return describe(matchedIngredients(recipeIngredientIds, vocabulary));
+    }
+
+    /**
+     * 레시피 재료 중 매칭된 재료 목록 (레시피 재료 ID 순서)
+     */
+    public List<MatchedIngredient> matchedIngredients(int[] recipeIngredientIds, IngredientVocabulary vocabulary) {
+        List<MatchedIngredient> matched = new ArrayList<>();
+        for (int id : recipeIngredientIds) {
+            if (!isSet(matchBits, id)) {
+                continue;
+            }
+            if (isSet(exactBits, id)) {
+                matched.add(new MatchedIngredient(vocabulary.nameOf(id), false));
+            } else {
+                matched.add(new MatchedIngredient(userIngredientNames[ownerOf(id)], true));
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 레시피 재료 중 냉장고에 없는 재료명 (레시피 비트 - 냉장고 비트, 레시피 재료 ID 순서)
+     */
+    public List<String> missingIngredients(int[] recipeIngredientIds, IngredientVocabulary vocabulary) {
+        List<String> missing = new ArrayList<>();
+        for (int id : recipeIngredientIds) {
+            if (!isSet(matchBits, id)) {
+                missing.add(vocabulary.nameOf(id));
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * 매칭 재료 목록 -> 표시 문자열
+     */
+    public static String describe(List<MatchedIngredient> matched) {
+        List<String> labels = new ArrayList<>(matched.size());
+        for (MatchedIngredient ingredient : matched) {
+            labels.add(ingredient.label());
+        }
+        return String.join(", ", labels);
+    }
+
+    private static boolean isSet(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+}
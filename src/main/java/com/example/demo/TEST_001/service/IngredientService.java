@@ -18,7 +18,7 @@ import java.util.List;
 public class IngredientService {
     private final IngredientRepository ingredientRepository;
     private final IngredientDefaultExpiryRepository defaultExpiryRepository;
-    private final RecipeMatchService recipeMatchService;
+    private final MatchRecomputeCoordinator matchRecomputeCoordinator;
 
     // 식재료 목록 조회 (유통기한 임박순)
     @Transactional(readOnly = true)
@@ -110,8 +110,8 @@ public class IngredientService {
 
         ingredientRepository.save(ingredientDTO);
 
-        // 매칭 점수 비동기 재계산
-        recipeMatchService.recalculateMatchScoresAsync(userId);
+        // 추가된 식재료가 포함된 레시피만 매칭 점수 비동기 갱신 (연속 추가는 묶어서 한 번에 반영)
+        matchRecomputeCoordinator.scheduleIngredientDelta(userId, List.of(ingredientDTO.getIngredientName()));
     }
 
     // 식재료 수정
@@ -119,31 +119,50 @@ public class IngredientService {
     public void update(Long userId, IngredientDTO ingredientDTO) {
         // userId 설정 (보안 검증을 위해)
         ingredientDTO.setUserId(userId);
+        IngredientDTO before = ingredientRepository.detail(userId, ingredientDTO.getIngredientId());
         ingredientRepository.update(ingredientDTO);
+
+        // 이름이 바뀐 경우 이전/새 이름이 포함된 레시피만 매칭 점수 비동기 갱신
+        if (before != null && ingredientDTO.getIngredientName() != null
+                && !before.getIngredientName().trim().equals(ingredientDTO.getIngredientName().trim())) {
+            matchRecomputeCoordinator.scheduleIngredientDelta(userId,
+                    List.of(before.getIngredientName(), ingredientDTO.getIngredientName()));
+        }
     }
 
     // 식재료 '다 먹음' 처리 (소비 완료)
     @Transactional
     public void markAsConsumed(Long userId, Integer id) {
+        IngredientDTO before = ingredientRepository.detail(userId, id);
         ingredientRepository.markAsConsumed(userId, id);
-        // 매칭 점수 비동기 재계산
-        recipeMatchService.recalculateMatchScoresAsync(userId);
+        // 빠진 식재료가 포함된 레시피만 매칭 점수 비동기 갱신
+        applyRemovalDelta(userId, before);
     }
 
     // 식재료 '폐기' 처리
     @Transactional
     public void markAsDiscarded(Long userId, Integer id) {
+        IngredientDTO before = ingredientRepository.detail(userId, id);
         ingredientRepository.markAsDiscarded(userId, id);
-        // 매칭 점수 비동기 재계산
-        recipeMatchService.recalculateMatchScoresAsync(userId);
+        // 빠진 식재료가 포함된 레시피만 매칭 점수 비동기 갱신
+        applyRemovalDelta(userId, before);
     }
 
     // 식재료 완전 삭제
     @Transactional
     public void delete(Long userId, Integer id) {
+        IngredientDTO before = ingredientRepository.detail(userId, id);
         ingredientRepository.delete(userId, id);
-        // 매칭 점수 비동기 재계산
-        recipeMatchService.recalculateMatchScoresAsync(userId);
+        // 빠진 식재료가 포함된 레시피만 매칭 점수 비동기 갱신
+        applyRemovalDelta(userId, before);
+    }
+
+    // 식재료가 냉장고에서 빠졌을 때 증분 매칭 갱신
+    private void applyRemovalDelta(Long userId, IngredientDTO removed) {
+        if (removed == null) {
+            return;
+        }
+        matchRecomputeCoordinator.scheduleIngredientDelta(userId, List.of(removed.getIngredientName()));
     }
 
     // 식재료명으로 기본 유통기한 조회
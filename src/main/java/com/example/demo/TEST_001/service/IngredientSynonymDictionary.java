@@ -0,0 +1,179 @@
+package com.example.demo.TEST_001.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 재료명 동의어/정규화 사전
+ * 앱 시작 시 classpath:ingredient-synonyms.txt 를 한 번 읽어 (변형 -> 대표 재료명) 불변 해시 맵으로 만들어 둠
+ * 레시피 재료(RCP_PARTS_DTLS)와 냉장고 재료의 띄어쓰기/수식어/동의어 차이를 대표 재료명으로 맞춰
+ * 대부분의 매칭이 부분 일치 탐색 없이 완전 일치(해시 조회)로 끝나도록 함
+ * 저장되는 재료명은 입력 그대로이며, 대표 재료명은 매칭할 때만 사용 (IngredientVocabulary.normalize)
+ * - 공백을 모두 뺀 이름으로 조회 (돼지고기 앞다리살 = 돼지고기앞다리살)
+ * - 사전에 없으면 앞에 붙은 수식어(다진, 채썬 등)를 떼고 한 번 더 조회
+ * - 그래도 없으면 연속 공백만 하나로 줄인 이름을 그대로 사용
+ */
+@Slf4j
+@Component
+public class IngredientSynonymDictionary {
+
+    public static final String RESOURCE = "ingredient-synonyms.txt";
+    private static final String QUALIFIERS_KEY = "@qualifiers";
+
+    private final Map<String, String> canonicalByVariant;   // 공백 뺀 변형/대표 재료명 -> 대표 재료명
+    private final Set<String> qualifiers;                   // 앞 수식어
+
+    public IngredientSynonymDictionary() {
+        this(RESOURCE);
+    }
+
+    /**
+     * @param resource classpath 사전 파일 (없거나 읽을 수 없으면 빈 사전)
+     */
+    IngredientSynonymDictionary(String resource) {
+        Map<String, String> canonicalByVariant = new HashMap<>();
+        Set<String> qualifiers = new HashSet<>();
+        load(resource, canonicalByVariant, qualifiers);
+        this.canonicalByVariant = Map.copyOf(canonicalByVariant);
+        this.qualifiers = Set.copyOf(qualifiers);
+    }
+
+    /**
+     * 재료명 -> 대표 재료명 (null 이나 공백뿐이면 "")
+     */
+    public String canonicalize(String name) {
+        String collapsed = collapseWhitespace(name);
+        if (collapsed.isEmpty() || canonicalByVariant.isEmpty() && qualifiers.isEmpty()) {
+            return collapsed;
+        }
+
+        String canonical = canonicalByVariant.get(key(collapsed));
+        if (canonical != null) {
+            return canonical;
+        }
+
+        String stripped = stripQualifiers(collapsed);
+        if (stripped != collapsed) {
+            canonical = canonicalByVariant.get(key(stripped));
+            return canonical != null ? canonical : stripped;
+        }
+        return collapsed;
+    }
+
+    /**
+     * 등록된 변형 수 (대표 재료명 포함)
+     */
+    public int size() {
+        return canonicalByVariant.size();
+    }
+
+    private static void load(String resource, Map<String, String> canonicalByVariant, Set<String> qualifiers) {
+        InputStream in = IngredientSynonymDictionary.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            log.warn("재료 동의어 사전 {} 이 없어 동의어 변환 없이 동작합니다.", resource);
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int separator = line.indexOf('=');
+                if (separator <= 0) {
+                    log.warn("재료 동의어 사전 {}행 형식 오류 (대표 재료명 = 변형, ...): {}", lineNumber, line);
+                    continue;
+                }
+
+                String head = collapseWhitespace(line.substring(0, separator));
+                String[] values = line.substring(separator + 1).split(",");
+                if (QUALIFIERS_KEY.equals(head)) {
+                    for (String value : values) {
+                        String qualifier = collapseWhitespace(value);
+                        if (!qualifier.isEmpty()) {
+                            qualifiers.add(qualifier);
+                        }
+                    }
+                    continue;
+                }
+
+                register(canonicalByVariant, head, head, lineNumber);
+                for (String value : values) {
+                    String variant = collapseWhitespace(value);
+                    if (!variant.isEmpty()) {
+                        register(canonicalByVariant, variant, head, lineNumber);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("재료 동의어 사전 {} 읽기 실패 - 동의어 변환 없이 동작합니다.", resource, e);
+            canonicalByVariant.clear();
+            qualifiers.clear();
+            return;
+        }
+
+        log.info("재료 동의어 사전 로드 완료 - 변형 {}개, 수식어 {}개", canonicalByVariant.size(), qualifiers.size());
+    }
+
+    private static void register(Map<String, String> canonicalByVariant, String variant, String canonical, int lineNumber) {
+        String previous = canonicalByVariant.putIfAbsent(key(variant), canonical);
+        if (previous != null && !previous.equals(canonical)) {
+            log.warn("재료 동의어 사전 {}행: '{}' 은 이미 '{}' 의 변형이므로 '{}' 변형으로 등록하지 않습니다.",
+                    lineNumber, variant, previous, canonical);
+        }
+    }
+
+    // 앞에 붙은 수식어 단어 제거 (마지막 단어는 남김, 제거할 것이 없으면 같은 인스턴스 반환)
+    private String stripQualifiers(String collapsed) {
+        int start = 0;
+        while (true) {
+            int space = collapsed.indexOf(' ', start);
+            if (space < 0 || !qualifiers.contains(collapsed.substring(start, space))) {
+                break;
+            }
+            start = space + 1;
+        }
+        return start == 0 ? collapsed : collapsed.substring(start);
+    }
+
+    // 앞뒤 공백 제거 + 연속 공백을 한 칸으로
+    private static String collapseWhitespace(String name) {
+        if (name == null) {
+            return "";
+        }
+        String trimmed = name.trim();
+        StringBuilder builder = null;
+        boolean previousSpace = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            boolean space = Character.isWhitespace(c);
+            if (builder == null && (space && (previousSpace || c != ' '))) {
+                builder = new StringBuilder(trimmed.length()).append(trimmed, 0, i);
+            }
+            if (builder != null && !(space && previousSpace)) {
+                builder.append(space ? ' ' : c);
+            }
+            previousSpace = space;
+        }
+        return builder != null ? builder.toString() : trimmed;
+    }
+
+    // 조회 키 (공백 제거)
+    private static String key(String collapsed) {
+        return collapsed.indexOf(' ') < 0 ? collapsed : collapsed.replace(" ", "");
+    }
+}
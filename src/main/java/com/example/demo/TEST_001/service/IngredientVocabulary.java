@@ -0,0 +1,147 @@
+package com.example.demo.TEST_001.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재료명 사전 (정규화된 재료명 -> int ID)
+ * 한 번 부여된 ID 는 바뀌지 않으며(추가만 가능), 레시피/냉장고를 int 배열과 비트셋으로 표현하는 데 사용
+ * 부분 일치 후보를 사전 전체를 훑지 않고 찾을 수 있도록 재료명의 한 글자/두 글자 조각 -> ID 목록도 함께 유지
+ */
+@Component
+public class IngredientVocabulary {
+
+    private final IngredientSynonymDictionary synonymDictionary;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // 재료명의 한 글자/두 글자 조각 -> 그 조각을 포함하는 재료 ID (오름차순)
+    private final Map<String, int[]> idsByGram = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[1024];
+    private volatile int size = 0;
+
+    public IngredientVocabulary(IngredientSynonymDictionary synonymDictionary) {
+        this.synonymDictionary = synonymDictionary;
+    }
+
+    /**
+     * 재료명 정규화 (공백 정리 + 동의어 사전의 대표 재료명으로 변환, 매칭할 때만 사용하며 저장하지 않음)
+     */
+    public String normalize(String name) {
+        return synonymDictionary.canonicalize(name);
+    }
+
+    /**
+     * 재료명의 ID 조회 (사전에 없으면 -1)
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(normalize(name));
+        return id != null ? id : -1;
+    }
+
+    /**
+     * 정규화된 재료명의 ID 조회 (다시 정규화하지 않음, 사전에 없으면 -1)
+     */
+    int idOfNormalized(String normalized) {
+        Integer id = ids.get(normalized);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * 정규화된 재료명을 포함하는 재료 ID (오름차순, 같은 재료명 포함)
+     * 두 글자 조각 중 ID 목록이 가장 짧은 것의 재료만 실제 포함 여부를 확인
+     */
+    int[] idsContaining(String normalized) {
+        int length = normalized.length();
+        if (length <= 2) {
+            int[] posting = length > 0 ? idsByGram.get(normalized) : null;
+            return posting != null ? posting : new int[0];
+        }
+
+        int[] candidates = null;
+        for (int i = 0; i + 2 <= length; i++) {
+            int[] posting = idsByGram.get(normalized.substring(i, i + 2));
+            if (posting == null) {
+                return new int[0];
+            }
+            if (candidates == null || posting.length < candidates.length) {
+                candidates = posting;
+            }
+        }
+        int[] result = new int[candidates.length];
+        int count = 0;
+        for (int id : candidates) {
+            if (nameOf(id).contains(normalized)) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 재료명의 ID 조회, 없으면 새로 부여
+     */
+    public int intern(String name) {
+        String normalized = normalize(name);
+        Integer id = ids.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(normalized);
+            if (id != null) {
+                return id;
+            }
+            int newId = size;
+            String[] current = names;
+            if (newId == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[newId] = normalized;
+            names = current;
+            ids.put(normalized, newId);
+            size = newId + 1;
+            indexGrams(normalized, newId);
+            return newId;
+        }
+    }
+
+    // 새 ID 를 조각별 ID 목록 끝에 추가 (새 ID 가 가장 크므로 오름차순 유지, 읽는 쪽은 교체된 배열만 봄)
+    private void indexGrams(String normalized, int id) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 1));
+            if (i + 2 <= normalized.length()) {
+                grams.add(normalized.substring(i, i + 2));
+            }
+        }
+        for (String gram : grams) {
+            idsByGram.merge(gram, new int[]{id}, (posting, added) -> {
+                int[] next = Arrays.copyOf(posting, posting.length + 1);
+                next[posting.length] = id;
+                return next;
+            });
+        }
+    }
+
+    /**
+     * ID의 재료명 조회
+     */
+    public String nameOf(int id) {
+        int currentSize = size;
+        if (id < 0 || id >= currentSize) {
+            throw new IllegalArgumentException("존재하지 않는 재료 ID입니다: " + id);
+        }
+        return names[id];
+    }
+
+    /**
+     * 현재까지 부여된 ID 개수
+     */
+    public int size() {
+        return size;
+    }
+}
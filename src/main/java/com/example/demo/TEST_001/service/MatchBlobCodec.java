@@ -0,0 +1,190 @@
+package com.example.demo.TEST_001.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 사용자 매칭 결과 압축 저장 형식 (user_match_blob.data)
+ * 압축 전 구조 (정수는 모두 부호 없는 가변 길이 정수)
+ *   형식 버전(1바이트)
+ *   재료명 사전 개수, [UTF-8 길이, UTF-8 바이트] ...
+ *   결과 개수, [레시피 ID 증가분, 매칭 수, 전체 재료 수, 매칭률(x100), 매칭 재료 수, [사전 번호 << 1 | 부분 일치] ...] ...
+ * 레시피 ID 오름차순이라 증가분이 작고, 재료명은 결과 안에서 한 번씩만 저장됨
+ * 전체를 Deflate 로 압축
+ */
+public final class MatchBlobCodec {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private MatchBlobCodec() {
+    }
+
+    /**
+     * 매칭 결과 -> 압축 바이트 (레시피 ID 순으로 정렬하여 저장)
+     */
+    public static byte[] encode(Collection<StoredMatch> matches) {
+        List<StoredMatch> sorted = new ArrayList<>(matches);
+        sorted.sort(Comparator.comparingLong(StoredMatch::recipeId));
+
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (StoredMatch match : sorted) {
+            for (FridgeVector.MatchedIngredient ingredient : match.matched()) {
+                dictionary.putIfAbsent(ingredient.name(), dictionary.size());
+            }
+        }
+
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(64 + sorted.size() * 12);
+        raw.write(FORMAT_VERSION);
+        writeVarInt(raw, dictionary.size());
+        for (String name : dictionary.keySet()) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(raw, bytes.length);
+            raw.write(bytes, 0, bytes.length);
+        }
+
+        writeVarInt(raw, sorted.size());
+        long previousId = 0;
+        for (StoredMatch match : sorted) {
+            writeVarLong(raw, match.recipeId() - previousId);
+            previousId = match.recipeId();
+            writeVarInt(raw, match.matchedCount());
+            writeVarInt(raw, match.totalCount());
+            writeVarInt(raw, (int) Math.round(MatchKernel.matchPercent(match.score()) * 100));
+            writeVarInt(raw, match.matched().size());
+            for (FridgeVector.MatchedIngredient ingredient : match.matched()) {
+                writeVarInt(raw, (dictionary.get(ingredient.name()) << 1) | (ingredient.partial() ? 1 : 0));
+            }
+        }
+        return deflate(raw.toByteArray());
+    }
+
+    /**
+     * 압축 바이트 -> 매칭 결과 (null 또는 빈 값이면 빈 결과)
+     */
+    public static StoredMatchSet decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return StoredMatchSet.EMPTY;
+        }
+
+        Reader reader = new Reader(inflate(data));
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("지원하지 않는 매칭 저장 형식입니다: " + version);
+        }
+
+        String[] dictionary = new String[reader.readVarInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = reader.readString(reader.readVarInt());
+        }
+
+        int count = reader.readVarInt();
+        long[] recipeIds = new long[count];
+        int[] matchedCounts = new int[count];
+        int[] totalCounts = new int[count];
+        int[][] matchedRefs = new int[count][];
+        long previousId = 0;
+        for (int i = 0; i < count; i++) {
+            previousId += reader.readVarLong();
+            recipeIds[i] = previousId;
+            matchedCounts[i] = reader.readVarInt();
+            totalCounts[i] = reader.readVarInt();
+            reader.readVarInt(); // 매칭률 (점수로 다시 계산 가능하므로 읽고 넘김)
+            int[] refs = new int[reader.readVarInt()];
+            for (int j = 0; j < refs.length; j++) {
+                refs[j] = reader.readVarInt();
+            }
+            matchedRefs[i] = refs;
+        }
+        return new StoredMatchSet(recipeIds, matchedCounts, totalCounts, matchedRefs, dictionary);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("매칭 저장 데이터가 손상되었습니다.");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("매칭 저장 데이터가 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            return data[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+
+        String readString(int length) {
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.TEST_001.service;
+
+/**
+ * 레시피-냉장고 매칭 점수 계산 커널
+ * 레시피 재료 ID 배열과 냉장고 비트셋만으로 계산하며 객체를 할당하지 않는다.
+ * 결과는 long 하나에 (매칭 수 << 32 | 전체 재료 수) 형태로 담아 반환
+ */
+public final class MatchKernel {
+
+    private MatchKernel() {
+    }
+
+    /**
+     * 매칭 점수 계산
+     * @param recipeIngredientIds 레시피 재료 ID (정렬, 중복 없음)
+     * @param matchBits 냉장고 재료와 완전/부분 일치하는 재료 ID 비트셋
+     */
+    public static long score(int[] recipeIngredientIds, long[] matchBits) {
+        int matchedCount = 0;
+        for (int id : recipeIngredientIds) {
+            int word = id >>> 6;
+            if (word < matchBits.length && (matchBits[word] & (1L << id)) != 0) {
+                matchedCount++;
+            }
+        }
+        return ((long) matchedCount << 32) | recipeIngredientIds.length;
+    }
+
+    /**
+     * 저장된 매칭 수 / 전체 재료 수를 점수 형태로 다시 묶음
+     */
+    public static long pack(int matchedCount, int totalCount) {
+        return ((long) matchedCount << 32) | (totalCount & 0xFFFFFFFFL);
+    }
+
+    public static int matchedCount(long score) {
+        return (int) (score >>> 32);
+    }
+
+    public static int totalCount(long score) {
+        return (int) score;
+    }
+
+    /**
+     * 매칭 퍼센트 (소수점 둘째 자리 반올림)
+     */
+    public static double matchPercent(long score) {
+        int totalCount = totalCount(score);
+        if (totalCount == 0) {
+            return 0.0;
+        }
+        double matchPercent = matchedCount(score) * 100.0 / totalCount;
+        return Math.round(matchPercent * 100.0) / 100.0;
+    }
+}
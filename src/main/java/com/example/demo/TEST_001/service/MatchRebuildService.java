@@ -0,0 +1,262 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.config.AsyncConfig;
+import com.example.demo.TEST_001.dto.MatchRebuildJobDTO;
+import com.example.demo.TEST_001.repository.MatchRebuildJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 전체 매칭 재계산 작업
+ * 매칭 테이블을 유지 중인 사용자를 user_id 순서로 파티션 단위로 나눠 제한된 실행기에서 재계산하고,
+ * 파티션이 끝날 때마다 체크포인트를 남겨 앱이 재시작되어도 이어서 처리
+ * 초당 재계산 사용자 수를 제한하여 DB 부하가 몰리지 않도록 함
+ * 작업 중에 다시 요청되면 (예: 진행 중 API 동기화) 이미 지난 사용자는 새 레시피를 놓치므로
+ * 요청을 기록해 두었다가 현재 작업이 끝나면 한 번 더 실행
+ */
+@Slf4j
+@Service
+public class MatchRebuildService {
+
+    private final MatchRebuildJobRepository jobRepository;
+    private final MatchRecomputeCoordinator matchRecomputeCoordinator;
+    private final RecipeMatchService recipeMatchService;
+    private final Executor rebuildExecutor;
+    private final int partitionSize;
+    private final double maxUsersPerSecond;
+    // 작업 진행 전용 (파티션 분배 + 체크포인트, 실제 재계산은 rebuildExecutor)
+    private final ExecutorService jobRunner;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // 작업 중에 들어온 재계산 요청 사유 (여러 번 들어와도 후속 실행은 한 번)
+    private final AtomicReference<String> pendingReason = new AtomicReference<>();
+    // 이번 실행(시작 또는 재개) 기준 처리 속도 계산용
+    private volatile long runStartedAt;
+    private volatile int processedAtRunStart;
+    private final AtomicInteger processedInRun = new AtomicInteger();
+
+    public MatchRebuildService(MatchRebuildJobRepository jobRepository,
+                               MatchRecomputeCoordinator matchRecomputeCoordinator,
+                               RecipeMatchService recipeMatchService,
+                               @Qualifier(AsyncConfig.REBUILD_EXECUTOR) Executor rebuildExecutor,
+                               @Value("${recipe.match.rebuild.partition-size:200}") int partitionSize,
+                               @Value("${recipe.match.rebuild.max-users-per-second:20}") double maxUsersPerSecond) {
+        this.jobRepository = jobRepository;
+        this.matchRecomputeCoordinator = matchRecomputeCoordinator;
+        this.recipeMatchService = recipeMatchService;
+        this.rebuildExecutor = rebuildExecutor;
+        this.partitionSize = Math.max(1, partitionSize);
+        this.maxUsersPerSecond = maxUsersPerSecond;
+        this.jobRunner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 전체 재계산 시작 (진행 중인 작업이 있으면 새로 만들지 않고 그 작업을 이어서 처리)
+     * 이 서버에서 작업이 실행 중이면 요청을 기록해 두고 작업이 끝난 뒤 후속 작업으로 시작
+     * @return 이번 호출로 작업을 시작했으면 true
+     */
+    public boolean startRebuild(String reason) {
+        // 조회 시점 매칭 모드에서는 매칭 테이블을 유지하지 않음
+        if (recipeMatchService.isOnDemandMode()) {
+            return false;
+        }
+        if (!running.compareAndSet(false, true)) {
+            pendingReason.set(reason);
+            log.info("전체 매칭 재계산 작업 진행 중 - '{}' 요청은 현재 작업이 끝난 뒤 다시 실행", reason);
+            // 기록하는 사이에 작업이 끝났으면 여기서 바로 시작
+            return !running.get() && startPending();
+        }
+
+        try {
+            MatchRebuildJobDTO job = jobRepository.findRunning();
+            if (job == null) {
+                job = MatchRebuildJobDTO.builder()
+                        .reason(reason)
+                        .totalUsers(jobRepository.countTargetUsers())
+                        .build();
+                jobRepository.save(job);
+                job.setProcessedUsers(0);
+                job.setLastUserId(0L);
+                log.info("전체 매칭 재계산 작업 {} 생성 ({}) - 대상 사용자 {}명", job.getId(), reason, job.getTotalUsers());
+            } else {
+                log.info("전체 매칭 재계산 작업 {} 이어서 처리 - {}/{}명 완료, 마지막 사용자 {}",
+                        job.getId(), job.getProcessedUsers(), job.getTotalUsers(), job.getLastUserId());
+            }
+
+            MatchRebuildJobDTO target = job;
+            jobRunner.execute(() -> runJob(target));
+            return true;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * 앱 재시작 전 중단된 작업이 있으면 이어서 처리
+     */
+    public void resumeInterrupted() {
+        try {
+            if (jobRepository.findRunning() != null) {
+                startRebuild("resume");
+            }
+        } catch (Exception e) {
+            log.error("중단된 전체 매칭 재계산 작업 확인 실패", e);
+        }
+    }
+
+    /**
+     * 최근 작업 진행률 / 예상 남은 시간
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        MatchRebuildJobDTO job = jobRepository.findLatest();
+        status.put("running", running.get());
+        status.put("followUpPending", pendingReason.get() != null);
+        if (job == null) {
+            return status;
+        }
+
+        int total = job.getTotalUsers() != null ? job.getTotalUsers() : 0;
+        int processed = job.getProcessedUsers() != null ? job.getProcessedUsers() : 0;
+        status.put("jobId", job.getId());
+        status.put("status", job.getStatus());
+        status.put("reason", job.getReason());
+        status.put("totalUsers", total);
+        status.put("processedUsers", processed);
+        status.put("lastUserId", job.getLastUserId());
+        status.put("progressPercent", total > 0 ? Math.min(100.0, Math.round(processed * 1000.0 / total) / 10.0) : 100.0);
+        status.put("startedAt", job.getStartedAt());
+        status.put("updatedAt", job.getUpdatedAt());
+        status.put("finishedAt", job.getFinishedAt());
+        status.put("errorMessage", job.getErrorMessage());
+
+        // 이번 실행에서 처리한 속도로 남은 시간 추정
+        if (running.get() && "running".equals(job.getStatus())) {
+            double elapsedSeconds = (System.currentTimeMillis() - runStartedAt) / 1000.0;
+            int doneInRun = processedInRun.get();
+            double usersPerSecond = elapsedSeconds > 0 ? doneInRun / elapsedSeconds : 0;
+            status.put("usersPerSecond", Math.round(usersPerSecond * 100) / 100.0);
+            status.put("etaSeconds", usersPerSecond > 0
+                    ? Math.round(Math.max(0, total - processedAtRunStart - doneInRun) / usersPerSecond)
+                    : null);
+        }
+        return status;
+    }
+
+    private void runJob(MatchRebuildJobDTO job) {
+        runStartedAt = System.currentTimeMillis();
+        processedAtRunStart = job.getProcessedUsers() != null ? job.getProcessedUsers() : 0;
+        processedInRun.set(0);
+
+        long lastUserId = job.getLastUserId() != null ? job.getLastUserId() : 0L;
+        int processed = processedAtRunStart;
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                long partitionStart = System.currentTimeMillis();
+                List<Long> userIds = jobRepository.findTargetUserIdsAfter(lastUserId, partitionSize);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                // 파티션을 제한된 실행기에 나눠 넣고 모두 끝날 때까지 대기 (실패한 사용자는 다음 변경 시 다시 계산됨)
+                List<CompletableFuture<Void>> futures = new ArrayList<>(userIds.size());
+                for (Long userId : userIds) {
+                    futures.add(CompletableFuture.runAsync(() -> recomputeUser(userId), rebuildExecutor));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+                lastUserId = userIds.get(userIds.size() - 1);
+                processed += userIds.size();
+                processedInRun.addAndGet(userIds.size());
+                jobRepository.updateCheckpoint(job.getId(), lastUserId, processed);
+
+                throttle(partitionStart, userIds.size());
+            }
+
+            jobRepository.finish(job.getId(), "completed", null);
+            log.info("전체 매칭 재계산 작업 {} 완료 - 사용자 {}명, 이번 실행 {}ms",
+                    job.getId(), processed, (System.currentTimeMillis() - runStartedAt));
+
+        } catch (InterruptedException e) {
+            // 종료 중 - 상태를 running 으로 남겨 재시작 시 체크포인트부터 이어서 처리
+            Thread.currentThread().interrupt();
+            interrupted = true;
+            log.info("전체 매칭 재계산 작업 {} 중단 - 마지막 사용자 {} 까지 처리", job.getId(), lastUserId);
+        } catch (Exception e) {
+            log.error("전체 매칭 재계산 작업 {} 실패 - 마지막 사용자 {} 까지 처리", job.getId(), lastUserId, e);
+            try {
+                jobRepository.finish(job.getId(), "failed", abbreviate(e.getMessage()));
+            } catch (Exception finishError) {
+                log.error("전체 매칭 재계산 작업 {} 상태 기록 실패", job.getId(), finishError);
+            }
+        } finally {
+            running.set(false);
+        }
+
+        // 작업 중에 들어온 요청이 있으면 후속 작업 시작 (종료 중이면 시작하지 않음)
+        if (!interrupted) {
+            try {
+                startPending();
+            } catch (Exception e) {
+                log.error("전체 매칭 재계산 후속 작업 시작 실패", e);
+            }
+        }
+    }
+
+    // 기록된 요청이 있으면 꺼내서 시작 (동시에 호출돼도 한 번만 꺼냄)
+    private boolean startPending() {
+        String reason = pendingReason.getAndSet(null);
+        return reason != null && startRebuild(reason);
+    }
+
+    private void recomputeUser(Long userId) {
+        try {
+            matchRecomputeCoordinator.recompute(userId);
+        } catch (Exception e) {
+            log.warn("전체 매칭 재계산 중 사용자 {} 실패: {}", userId, e.getMessage());
+        }
+    }
+
+    // 파티션 처리 시간이 허용 속도보다 짧으면 남은 시간만큼 대기
+    private void throttle(long partitionStart, int userCount) throws InterruptedException {
+        if (maxUsersPerSecond <= 0) {
+            return;
+        }
+        long minimumMillis = (long) (userCount * 1000 / maxUsersPerSecond);
+        long remaining = minimumMillis - (System.currentTimeMillis() - partitionStart);
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.config.AsyncConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 사용자별 매칭 재계산 조정자
+ * - 식재료 변경으로 인한 증분 갱신은 recipe.match.debounce-ms 동안 모아서 한 번에 반영
+ * - 동시에 들어온 동기 전체 재계산 요청은 진행 중인 하나의 계산에 합류하여 같은 결과를 기다림
+ * - 레시피 추가/수정은 커밋 후 재료가 겹치는 사용자들에게 전파
+ * - 목록 조회 시 이전 결과가 있으면 재계산을 기다리지 않고 이전 결과로 응답 (백그라운드 갱신)
+ * - 미리 계산/백그라운드 갱신은 버려도 되는 작업이라 별도 실행기(matchRefreshExecutor)에서 실행하며,
+ *   큐가 차면 버려지고 다음 조회 때 다시 요청됨
+ */
+@Slf4j
+@Service
+public class MatchRecomputeCoordinator {
+
+    private final RecipeMatchService recipeMatchService;
+    private final MatchVersionTracker matchVersionTracker;
+    private final Executor matchExecutor;
+    // 미리 계산/백그라운드 갱신 전용 (큐가 차면 버림)
+    private final Executor refreshExecutor;
+    private final long debounceMillis;
+    // 이전 결과가 있으면 재계산을 기다리지 않고 이전 결과로 응답
+    private final boolean staleWhileRevalidate;
+    // 디바운스 타이머 전용 (실제 갱신은 matchExecutor 에서 실행)
+    private final ScheduledExecutorService scheduler;
+
+    // 사용자별 대기 중인 증분 갱신 (디바운스 창 안에서 변경된 식재료명 누적)
+    private final ConcurrentHashMap<Long, PendingDelta> pendingDeltas = new ConcurrentHashMap<>();
+    // 사용자별 진행 중인 전체 재계산
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private static final class PendingDelta {
+        private final Set<String> ingredientNames = new LinkedHashSet<>();
+        private ScheduledFuture<?> future;
+    }
+
+    public MatchRecomputeCoordinator(RecipeMatchService recipeMatchService,
+                                     MatchVersionTracker matchVersionTracker,
+                                     @Qualifier(AsyncConfig.MATCH_EXECUTOR) Executor matchExecutor,
+                                     @Qualifier(AsyncConfig.MATCH_REFRESH_EXECUTOR) Executor refreshExecutor,
+                                     @Value("${recipe.match.debounce-ms:500}") long debounceMillis,
+                                     @Value("${recipe.match.stale-while-revalidate:true}") boolean staleWhileRevalidate) {
+        this.recipeMatchService = recipeMatchService;
+        this.matchVersionTracker = matchVersionTracker;
+        this.matchExecutor = matchExecutor;
+        this.refreshExecutor = refreshExecutor;
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-debounce");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 식재료 변경분 증분 갱신 예약
+     * 트랜잭션 안에서 호출되면 커밋 이후에 예약하여 커밋 전 상태로 계산하지 않도록 함
+     */
+    public void scheduleIngredientDelta(Long userId, Collection<String> changedIngredientNames) {
+        List<String> names = changedIngredientNames.stream()
+                .filter(Objects::nonNull)
+                .toList();
+        // 조회 시점 매칭 모드에서는 매칭 테이블을 유지하지 않음
+        if (userId == null || names.isEmpty() || recipeMatchService.isOnDemandMode()) {
+            return;
+        }
+
+        // 냉장고 버전은 식재료 변경과 같은 트랜잭션에서 올림
+        matchVersionTracker.increaseFridgeVersion(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueueDelta(userId, names);
+                }
+            });
+        } else {
+            enqueueDelta(userId, names);
+        }
+    }
+
+    /**
+     * 레시피 추가/수정을 다른 사용자들의 매칭 테이블에 전파 예약
+     * 트랜잭션 안에서 호출되면 커밋 이후에 매칭 실행기로 넘김
+     * @param previousIngredientNames 수정 전 레시피 재료명 (새 레시피면 빈 값)
+     */
+    public void scheduleRecipeChange(Long recipeId, Collection<String> previousIngredientNames) {
+        if (recipeId == null || recipeMatchService.isOnDemandMode()) {
+            return;
+        }
+
+        Runnable task = () -> matchExecutor.execute(() ->
+                recipeMatchService.applyRecipeChange(recipeId, previousIngredientNames));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * 매칭 점수가 최신 냉장고를 반영하지 않을 때만 전체 재계산 (동시 요청은 하나의 계산에 합류)
+     * 대기 중인 증분 갱신이 있으면 곧 반영되므로 기존 결과로 응답
+     */
+    public void ensureMatchScores(Long userId) {
+        if (recipeMatchService.isOnDemandMode() || recipeMatchService.isMatchFresh(userId)) {
+            return;
+        }
+        if (pendingDeltas.containsKey(userId) && recipeMatchService.hasMatchVersion(userId)) {
+            return;
+        }
+        runSingleFlight(userId, true);
+    }
+
+    /**
+     * 목록 조회용 매칭 점수 확인
+     * 이전 결과가 있으면 재계산을 백그라운드로 넘기고 바로 반환, 이전 결과가 없을 때만 계산을 기다림
+     * @return 이전 결과로 응답하며 갱신 중이면 true
+     */
+    public boolean ensureMatchScoresOrRefresh(Long userId) {
+        if (!staleWhileRevalidate) {
+            ensureMatchScores(userId);
+            return false;
+        }
+        if (recipeMatchService.isOnDemandMode() || recipeMatchService.isMatchFresh(userId)) {
+            return false;
+        }
+        if (!recipeMatchService.hasMatchVersion(userId)) {
+            // 보여줄 이전 결과가 없으므로 진행 중인 계산에 합류하거나 직접 계산
+            runSingleFlight(userId, true);
+            return false;
+        }
+        if (!pendingDeltas.containsKey(userId) && !inFlight.containsKey(userId)) {
+            refreshAsync(userId);
+        }
+        return true;
+    }
+
+    /**
+     * 로그인 직후 매칭 점수 미리 계산 (첫 목록 조회가 계산을 기다리지 않도록)
+     */
+    public void warmUp(Long userId) {
+        if (userId == null || recipeMatchService.isOnDemandMode()) {
+            return;
+        }
+        // 미리 계산은 부가 작업이므로 실패해도 호출한 요청(로그인)에 영향을 주지 않음
+        try {
+            if (!recipeMatchService.isMatchFresh(userId) && !inFlight.containsKey(userId)) {
+                refreshAsync(userId);
+            }
+        } catch (Exception e) {
+            log.warn("사용자 {} 매칭 미리 계산 예약 실패: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 전체 재계산 (동시 요청은 하나의 계산에 합류)
+     */
+    public void recompute(Long userId) {
+        runSingleFlight(userId, false);
+    }
+
+    // 큐가 가득 차면 조용히 버려짐 (거절 건수는 /admin/executors 에서 확인)
+    private void refreshAsync(Long userId) {
+        refreshExecutor.execute(() -> {
+            try {
+                ensureMatchScores(userId);
+            } catch (Exception e) {
+                log.error("사용자 {} 백그라운드 매칭 갱신 실패", userId, e);
+            }
+        });
+    }
+
+    private void enqueueDelta(Long userId, List<String> names) {
+        pendingDeltas.compute(userId, (id, pending) -> {
+            if (pending == null) {
+                pending = new PendingDelta();
+            }
+            pending.ingredientNames.addAll(names);
+            // 창 안에 새 변경이 들어오면 타이머를 다시 시작
+            if (pending.future != null) {
+                pending.future.cancel(false);
+            }
+            pending.future = scheduler.schedule(() -> matchExecutor.execute(() -> flushDelta(id)),
+                    debounceMillis, TimeUnit.MILLISECONDS);
+            return pending;
+        });
+    }
+
+    private void flushDelta(Long userId) {
+        PendingDelta pending = pendingDeltas.remove(userId);
+        if (pending == null || pending.ingredientNames.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 전체 재계산이 진행 중이면 끝난 뒤에 반영
+            CompletableFuture<Void> running = inFlight.get(userId);
+            if (running != null) {
+                running.exceptionally(e -> null).join();
+            }
+            log.info("사용자 {} 식재료 변경 {}건 묶어서 증분 갱신", userId, pending.ingredientNames.size());
+            recipeMatchService.applyIngredientDelta(userId, pending.ingredientNames);
+        } catch (Exception e) {
+            log.error("사용자 {} 묶음 증분 갱신 실패", userId, e);
+        }
+    }
+
+    private void runSingleFlight(Long userId, boolean onlyIfStale) {
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(userId, created);
+        if (existing != null) {
+            log.info("사용자 {} 진행 중인 매칭 재계산에 합류", userId);
+            existing.join();
+            return;
+        }
+
+        try {
+            // 전체 재계산이 현재 냉장고를 모두 반영하므로 대기 중인 증분 갱신은 취소
+            cancelPendingDelta(userId);
+            // 앞선 계산이 방금 끝났을 수 있으므로 다시 확인
+            if (!onlyIfStale || !recipeMatchService.isMatchFresh(userId)) {
+                recipeMatchService.recalculateMatchScores(userId);
+            }
+            created.complete(null);
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(userId, created);
+        }
+    }
+
+    private void cancelPendingDelta(Long userId) {
+        PendingDelta pending = pendingDeltas.remove(userId);
+        if (pending != null && pending.future != null) {
+            pending.future.cancel(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.repository.UserRecipeMatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비활성 사용자 매칭 데이터 정리
+ * 로그인/냉장고 변경이 recipe.match.retention.inactive-days 동안 없는 사용자의
+ * 매칭 행 / 압축 결과 / 상태 행을 사용자 단위 짧은 트랜잭션으로 나눠 삭제
+ * 상태 행이 없어지면 다음 방문 시 기존 지연 재계산 경로로 다시 만들어지고, 그때 재생성 사용자로 집계
+ */
+@Slf4j
+@Service
+public class MatchRetentionService {
+
+    private final UserRecipeMatchRepository matchRepository;
+    private final FridgeOwnerIndex fridgeOwnerIndex;
+    private final MatchVersionTracker matchVersionTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final int inactiveDays;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // 앱 시작 후 누적
+    private final AtomicLong evictedUsers = new AtomicLong();
+    private final AtomicLong evictedRows = new AtomicLong();
+    private final AtomicLong rebuiltUsers = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile int lastRunEvicted;
+
+    public MatchRetentionService(UserRecipeMatchRepository matchRepository,
+                                 FridgeOwnerIndex fridgeOwnerIndex,
+                                 MatchVersionTracker matchVersionTracker,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${recipe.match.retention.inactive-days:30}") int inactiveDays,
+                                 @Value("${recipe.match.retention.chunk-size:200}") int chunkSize) {
+        this.matchRepository = matchRepository;
+        this.fridgeOwnerIndex = fridgeOwnerIndex;
+        this.matchVersionTracker = matchVersionTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.inactiveDays = inactiveDays;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * 로그인 기록 (부가 작업이므로 실패해도 로그인에 영향을 주지 않음)
+     * 냉장고 변경은 냉장고 버전을 올릴 때 함께 기록됨
+     */
+    public void recordActivity(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        try {
+            matchRepository.touchActivity(userId);
+        } catch (Exception e) {
+            log.warn("사용자 {} 활동 시각 기록 실패: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 매칭 상태 행이 새로 만들어졌을 때 호출 (정리되었던 사용자면 재생성으로 집계)
+     */
+    public void onMatchStateCreated(Long userId) {
+        if (matchRepository.deleteEviction(userId)) {
+            rebuiltUsers.incrementAndGet();
+            log.info("정리되었던 사용자 {} 매칭 데이터 재생성", userId);
+        }
+    }
+
+    /**
+     * 비활성 사용자 매칭 데이터 정리 (user_id 순으로 chunk-size 명씩)
+     * @return 이번 실행에서 정리한 사용자 수
+     */
+    public int evictInactiveUsers() {
+        if (inactiveDays <= 0 || !running.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        long startTime = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(inactiveDays);
+        int evicted = 0;
+        int skipped = 0;
+        long lastUserId = 0L;
+
+        try {
+            while (true) {
+                List<Long> userIds = matchRepository.findInactiveUserIds(cutoff, lastUserId, chunkSize);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                for (Long userId : userIds) {
+                    try {
+                        if (evictUser(userId, cutoff)) {
+                            evicted++;
+                        } else {
+                            skipped++;
+                        }
+                    } catch (Exception e) {
+                        skipped++;
+                        log.warn("사용자 {} 매칭 데이터 정리 실패: {}", userId, e.getMessage());
+                    }
+                }
+                lastUserId = userIds.get(userIds.size() - 1);
+            }
+
+            log.info("비활성 사용자 매칭 데이터 정리 완료 - {}ms 소요, {}일 이상 비활성 {}명 정리, {}명 건너뜀",
+                    (System.currentTimeMillis() - startTime), inactiveDays, evicted, skipped);
+
+        } catch (Exception e) {
+            log.error("비활성 사용자 매칭 데이터 정리 실패 - {}명 정리 후 중단", evicted, e);
+        } finally {
+            lastRunAt = LocalDateTime.now();
+            lastRunEvicted = evicted;
+            running.set(false);
+        }
+        return evicted;
+    }
+
+    /**
+     * 정리 현황 (누적 정리/재생성 사용자 수, 현재 정리 상태인 사용자 수)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inactiveDays", inactiveDays);
+        stats.put("running", running.get());
+        stats.put("evictedUsers", evictedUsers.get());
+        stats.put("evictedRows", evictedRows.get());
+        stats.put("rebuiltUsers", rebuiltUsers.get());
+        stats.put("currentlyEvicted", matchRepository.countEvictions());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunEvicted", lastRunEvicted);
+        return stats;
+    }
+
+    // 한 사용자 정리 (그 사이 다시 활동했으면 건너뜀)
+    private boolean evictUser(Long userId, LocalDateTime cutoff) {
+        int[] deletedRows = new int[1];
+        Boolean evicted = transactionTemplate.execute(status -> {
+            // 상태 행을 먼저 잠가 동시에 시작된 재계산이 세대를 발급하지 못하게 함
+            if (!matchRepository.lockInactiveState(userId, cutoff)) {
+                return false;
+            }
+            deletedRows[0] = matchRepository.deleteByUserId(userId);
+            matchRepository.deleteMatchBlob(userId);
+            matchRepository.deleteMatchState(userId);
+            matchRepository.recordEviction(userId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(evicted)) {
+            return false;
+        }
+
+        fridgeOwnerIndex.remove(userId);
+        matchVersionTracker.evict(userId);
+        evictedUsers.incrementAndGet();
+        evictedRows.addAndGet(deletedRows[0]);
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.TEST_001.service;
+
+/**
+ * 레시피 ID 별 매칭 결과 조회 (메모리에서 순위를 매길 때 사용)
+ * 조회 시점 계산 결과(FridgeMatchResult) 또는 압축 저장된 결과(StoredMatchSet)
+ */
+public interface MatchScoreSource {
+
+    /**
+     * MatchKernel 점수 (matched << 32 | total), 매칭되지 않았으면 0
+     */
+    long scoreOf(Long recipeId);
+
+    /**
+     * 매칭 재료 표시 문자열, 매칭되지 않았으면 null
+     */
+    String matchedIngredientsOf(Long recipeId);
+}
@@ -0,0 +1,42 @@
+package com.example.demo.TEST_001.service;
+
+/**
+ * 후보 레시피 구간 점수 계산 커널 (ParallelMatchScorer 가 청크마다 호출)
+ * - scalar: 레시피마다 MatchKernel.score
+ * - vector: jdk.incubator.vector 로 연속된 레시피들의 재료 ID 를 SIMD 단위로 한 번에 판정
+ * vector 는 실행 시 --add-modules jdk.incubator.vector 가 있어야 하며, 없으면 scalar 로 대체
+ */
+public interface MatchScoringKernel {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * positions[from, to) 위치 레시피의 점수를 scores[0, to - from) 에 기록
+     * @param matchBits 냉장고 매칭 비트셋
+     * @param scores MatchKernel 점수 (matched << 32 | total)
+     */
+    void scoreRange(RecipeCatalogSnapshot catalog, long[] matchBits, int[] positions, int from, int to, long[] scores);
+
+    String getName();
+
+    /**
+     * 설정값에 맞는 커널 생성 (auto: 모듈이 있으면 vector / vector: 모듈이 없으면 scalar 로 대체 / scalar)
+     */
+    static MatchScoringKernel create(String mode) {
+        if (!"scalar".equalsIgnoreCase(mode) && isVectorModuleAvailable()) {
+            try {
+                // 모듈이 없을 때 벡터 클래스가 링크되지 않도록 이름으로 로드
+                return (MatchScoringKernel) Class.forName(MatchScoringKernel.class.getPackageName() + ".VectorMatchKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new ScalarMatchKernel();
+            }
+        }
+        return new ScalarMatchKernel();
+    }
+
+    static boolean isVectorModuleAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
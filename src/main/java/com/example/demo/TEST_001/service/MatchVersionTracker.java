@@ -0,0 +1,106 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.repository.UserRecipeMatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 매칭 최신 여부 (냉장고 버전 vs 매칭 버전)
+ * user_match_state 의 두 버전을 메모리에 캐시하여 목록 조회마다 DB 를 읽지 않도록 함
+ * - 냉장고가 바뀌면 DB 버전을 올리고 캐시를 비움 (트랜잭션이 끝난 뒤 한 번 더 비워 커밋 전 값이 남지 않게 함)
+ * - 매칭 결과가 공개되면 DB 에 기록된 매칭 버전을 캐시에도 반영
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchVersionTracker {
+
+    private final UserRecipeMatchRepository matchRepository;
+
+    private final ConcurrentHashMap<Long, MatchVersions> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param fridgeVersion 냉장고 버전
+     * @param matchVersion 현재 매칭 결과가 반영한 냉장고 버전 (null: 아직 계산 전)
+     */
+    private record MatchVersions(long fridgeVersion, Long matchVersion) {
+        private static final MatchVersions NEVER_MATCHED = new MatchVersions(0L, null);
+
+        boolean isFresh() {
+            return matchVersion != null && matchVersion >= fridgeVersion;
+        }
+    }
+
+    /**
+     * 현재 매칭 결과가 최신 냉장고를 반영하고 있는지
+     */
+    public boolean isFresh(Long userId) {
+        return get(userId).isFresh();
+    }
+
+    /**
+     * 한 번이라도 매칭 결과가 공개되었는지 (증분 갱신 기준이 있는지)
+     */
+    public boolean hasMatchVersion(Long userId) {
+        return get(userId).matchVersion() != null;
+    }
+
+    /**
+     * 계산 시작 전에 기준으로 삼을 냉장고 버전 (항상 DB 에서 읽음)
+     */
+    public long loadFridgeVersion(Long userId) {
+        MatchVersions versions = load(userId);
+        cache.put(userId, versions);
+        return versions.fridgeVersion();
+    }
+
+    /**
+     * 냉장고 변경 기록 (호출한 트랜잭션에 참여)
+     */
+    public void increaseFridgeVersion(Long userId) {
+        matchRepository.increaseFridgeVersion(userId);
+        cache.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.remove(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * DB 에 매칭 버전이 기록된 뒤 캐시에 반영
+     */
+    public void onMatchPublished(Long userId, long matchVersion) {
+        cache.computeIfPresent(userId, (id, versions) -> new MatchVersions(versions.fridgeVersion(),
+                versions.matchVersion() != null ? Math.max(versions.matchVersion(), matchVersion) : matchVersion));
+    }
+
+    /**
+     * 캐시에서 제거 (매칭 데이터 삭제 시)
+     */
+    public void evict(Long userId) {
+        cache.remove(userId);
+    }
+
+    private MatchVersions get(Long userId) {
+        return cache.computeIfAbsent(userId, this::load);
+    }
+
+    private MatchVersions load(Long userId) {
+        Map<String, Object> row = matchRepository.findMatchVersions(userId);
+        if (row == null) {
+            return MatchVersions.NEVER_MATCHED;
+        }
+        Number fridgeVersion = (Number) row.get("fridgeVersion");
+        Number matchVersion = (Number) row.get("matchVersion");
+        return new MatchVersions(fridgeVersion != null ? fridgeVersion.longValue() : 0L,
+                matchVersion != null ? matchVersion.longValue() : null);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.demo.TEST_001.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongPredicate;
+
+/**
+ * 후보 레시피 매칭 점수 계산기
+ * recipe.match.parallelism 이 1 이면 호출 스레드에서 순차 계산하고,
+ * 2 이상(0 이면 CPU 코어 수)이면 전용 ForkJoinPool 에서 후보를 청크 단위로 나눠 병렬 계산
+ * 결과는 항상 스냅샷 내 위치 순서로 합쳐서 반환 (DB 쓰기는 호출 측 배치 저장이 담당)
+ * 청크 안의 점수 계산은 recipe.match.kernel 로 고른 MatchScoringKernel 이 담당
+ */
+@Slf4j
+@Component
+public class ParallelMatchScorer {
+
+    /**
+     * 매칭된 레시피 -> 결과 행 변환 (워커 스레드에서 호출되므로 읽기 전용 상태만 사용)
+     */
+    @FunctionalInterface
+    public interface MatchedRecipeMapper<T> {
+        T map(CatalogRecipe recipe, long score);
+    }
+
+    private final int parallelism;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final MatchScoringKernel kernel;
+
+    public ParallelMatchScorer(@Value("${recipe.match.parallelism:1}") int parallelism,
+                               @Value("${recipe.match.chunk-size:256}") int chunkSize,
+                               @Value("${recipe.match.kernel:scalar}") String kernel) {
+        this.parallelism = parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism, ParallelMatchScorer::newWorker, null, false) : null;
+        this.kernel = MatchScoringKernel.create(kernel);
+        if ("vector".equalsIgnoreCase(kernel) && this.kernel instanceof ScalarMatchKernel) {
+            log.warn("{} 모듈을 사용할 수 없어 scalar 커널로 대체합니다 (--add-modules {} 필요)",
+                    MatchScoringKernel.VECTOR_MODULE, MatchScoringKernel.VECTOR_MODULE);
+        }
+        log.info("매칭 점수 계산 모드: {} (병렬도 {}, 청크 {}, 커널 {})",
+                pool != null ? "병렬" : "단일 스레드", this.parallelism, this.chunkSize, this.kernel.getName());
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("match-score-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * 후보 레시피 점수 계산 후 매칭된 레시피만 변환하여 반환
+     * @param catalog 카탈로그 스냅샷
+     * @param matchBits 냉장고 매칭 비트셋
+     * @param candidates 후보 레시피 위치
+     * @param mapper 매칭된 레시피 변환 함수
+     */
+    public <T> List<T> scoreCandidates(RecipeCatalogSnapshot catalog, long[] matchBits, BitSet candidates,
+                                       MatchedRecipeMapper<T> mapper) {
+        return scoreCandidates(catalog, matchBits, candidates, score -> MatchKernel.matchedCount(score) > 0, mapper);
+    }
+
+    /**
+     * 후보 레시피 점수 계산 후 조건을 만족하는 레시피만 변환하여 반환
+     * @param accept 결과에 포함할 점수 조건 (워커 스레드에서 호출됨)
+     */
+    public <T> List<T> scoreCandidates(RecipeCatalogSnapshot catalog, long[] matchBits, BitSet candidates,
+                                       LongPredicate accept, MatchedRecipeMapper<T> mapper) {
+        int[] positions = candidates.stream().toArray();
+
+        // 단일 스레드 모드이거나 후보가 한 청크 이하면 병렬화 이득이 없음
+        if (pool == null || positions.length <= chunkSize) {
+            List<T> results = new ArrayList<>();
+            scoreRange(kernel, catalog, matchBits, positions, 0, positions.length, accept, mapper, results);
+            return results;
+        }
+
+        int chunkCount = (positions.length + chunkSize - 1) / chunkSize;
+        @SuppressWarnings("unchecked")
+        List<T>[] chunkResults = new List[chunkCount];
+        pool.invoke(new ScoreTask<>(catalog, matchBits, positions, accept, mapper, chunkResults, 0, chunkCount));
+
+        // 청크 순서대로 합쳐서 순차 모드와 같은 순서 유지
+        int total = 0;
+        for (List<T> chunk : chunkResults) {
+            total += chunk.size();
+        }
+        List<T> results = new ArrayList<>(total);
+        for (List<T> chunk : chunkResults) {
+            results.addAll(chunk);
+        }
+        return results;
+    }
+
+    private static <T> void scoreRange(MatchScoringKernel kernel, RecipeCatalogSnapshot catalog, long[] matchBits,
+                                       int[] positions, int from, int to, LongPredicate accept,
+                                       MatchedRecipeMapper<T> mapper, List<T> results) {
+        long[] scores = new long[to - from];
+        kernel.scoreRange(catalog, matchBits, positions, from, to, scores);
+        for (int i = from; i < to; i++) {
+            long score = scores[i - from];
+            if (accept.test(score)) {
+                results.add(mapper.map(catalog.getRecipeAt(positions[i]), score));
+            }
+        }
+    }
+
+    /**
+     * 청크 구간 [fromChunk, toChunk) 를 반씩 나눠 계산하는 작업
+     */
+    private final class ScoreTask<T> extends RecursiveAction {
+
+        private final RecipeCatalogSnapshot catalog;
+        private final long[] matchBits;
+        private final int[] positions;
+        private final LongPredicate accept;
+        private final MatchedRecipeMapper<T> mapper;
+        private final List<T>[] chunkResults;
+        private final int fromChunk;
+        private final int toChunk;
+
+        private ScoreTask(RecipeCatalogSnapshot catalog, long[] matchBits, int[] positions, LongPredicate accept,
+                          MatchedRecipeMapper<T> mapper, List<T>[] chunkResults, int fromChunk, int toChunk) {
+            this.catalog = catalog;
+            this.matchBits = matchBits;
+            this.positions = positions;
+            this.accept = accept;
+            this.mapper = mapper;
+            this.chunkResults = chunkResults;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * chunkSize;
+                int to = Math.min(from + chunkSize, positions.length);
+                List<T> results = new ArrayList<>();
+                scoreRange(kernel, catalog, matchBits, positions, from, to, accept, mapper, results);
+                chunkResults[fromChunk] = results;
+                return;
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ScoreTask<>(catalog, matchBits, positions, accept, mapper, chunkResults, fromChunk, mid),
+                    new ScoreTask<>(catalog, matchBits, positions, accept, mapper, chunkResults, mid, toChunk));
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public String getKernelName() {
+        return kernel.getName();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.*;
+
+/**
+ * 냉장고 재료명 부분 일치 검색기
+ * 레시피 재료명 r 과 냉장고 재료명 u 에 대해 r.contains(u) || u.contains(r) 을 만족하는
+ * 첫 번째(가장 앞선 인덱스의) 냉장고 재료를 찾는다.
+ * - r.contains(u): 냉장고 재료명들로 만든 Aho–Corasick 오토마톤에 r 을 한 번 통과시켜 판정
+ * - u.contains(r): 냉장고 재료명의 모든 부분 문자열 -> 가장 앞선 인덱스 역색인으로 판정
+ * 따라서 레시피 재료 하나당 비용이 냉장고 크기가 아닌 재료명 길이에 비례한다
+ */
+public final class PartialMatcher {
+
+    private final List<Map<Character, Integer>> children = new ArrayList<>();
+    private final List<Integer> fail = new ArrayList<>();
+    private final List<Integer> minOutput = new ArrayList<>();  // 이 노드에서 끝나는(접미 포함) 패턴 중 최소 인덱스
+    private final Map<String, Integer> substringOwner = new HashMap<>();
+
+    /**
+     * @param userIngredientNames 냉장고 재료명 (중복 없음, 비어 있지 않음). 인덱스 순서가 우선순위
+     */
+    public PartialMatcher(String[] userIngredientNames) {
+        newNode();
+        for (int i = 0; i < userIngredientNames.length; i++) {
+            String name = userIngredientNames[i];
+            addPattern(name, i);
+            addSubstrings(name, i);
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * 레시피 재료명과 부분 일치하는 첫 번째 냉장고 재료 인덱스 (없으면 -1)
+     */
+    public int firstMatch(String recipeIngredient) {
+        int best = substringOwner.getOrDefault(recipeIngredient, Integer.MAX_VALUE);
+
+        int node = 0;
+        for (int i = 0; i < recipeIngredient.length(); i++) {
+            char c = recipeIngredient.charAt(i);
+            node = next(node, c);
+            best = Math.min(best, minOutput.get(node));
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    private void addPattern(String pattern, int index) {
+        int node = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            Integer child = children.get(node).get(c);
+            if (child == null) {
+                child = newNode();
+                children.get(node).put(c, child);
+            }
+            node = child;
+        }
+        minOutput.set(node, Math.min(minOutput.get(node), index));
+    }
+
+    // 냉장고 재료명의 모든 부분 문자열 -> 해당 문자열을 포함하는 가장 앞선 냉장고 재료 인덱스
+    private void addSubstrings(String name, int index) {
+        for (int start = 0; start < name.length(); start++) {
+            for (int end = start + 1; end <= name.length(); end++) {
+                substringOwner.putIfAbsent(name.substring(start, end), index);
+            }
+        }
+    }
+
+    private void buildFailureLinks() {
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : children.get(0).values()) {
+            fail.set(child, 0);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> entry : children.get(node).entrySet()) {
+                int child = entry.getValue();
+                int target = next(fail.get(node), entry.getKey());
+                fail.set(child, target);
+                minOutput.set(child, Math.min(minOutput.get(child), minOutput.get(target)));
+                queue.add(child);
+            }
+        }
+    }
+
+    private int next(int node, char c) {
+        while (true) {
+            Integer child = children.get(node).get(c);
+            if (child != null) {
+                return child;
+            }
+            if (node == 0) {
+                return 0;
+            }
+            node = fail.get(node);
+        }
+    }
+
+    private int newNode() {
+        children.add(new HashMap<>());
+        fail.add(0);
+        minOutput.add(Integer.MAX_VALUE);
+        return children.size() - 1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.Comparator;
+
+/**
+ * 조회 시점 매칭 순위 결과
+ * @param recipeId 레시피 ID
+ * @param order 필터 조회 결과 내 순서 (최신순, 매칭 점수 동점 시 정렬 기준)
+ * @param score MatchKernel 매칭 결과 (matched << 32 | total)
+ * @param matchedIngredients 매칭된 재료 설명 (페이지에 포함된 레시피만 채워짐)
+ * @param expiryScore 유통기한 가중 점수 (오늘 기준, 유통기한 순위 모드가 아니면 0)
+ */
+public record RankedRecipe(Long recipeId, int order, long score, String matchedIngredients, double expiryScore) {
+
+    /**
+     * user_recipe_match 기반 목록과 같은 정렬: 매칭률 DESC, 매칭 개수 DESC, 최신순
+     */
+    public static final Comparator<RankedRecipe> RANK_ORDER = Comparator
+            .comparingDouble((RankedRecipe ranked) -> MatchKernel.matchPercent(ranked.score())).reversed()
+            .thenComparing(Comparator.comparingInt((RankedRecipe ranked) -> MatchKernel.matchedCount(ranked.score())).reversed())
+            .thenComparingInt(RankedRecipe::order);
+
+    /**
+     * 유통기한 순위 모드 정렬: 유통기한 가중 점수 DESC, 이후 RANK_ORDER
+     */
+    public static final Comparator<RankedRecipe> EXPIRY_ORDER = Comparator
+            .comparingDouble(RankedRecipe::expiryScore).reversed()
+            .thenComparing(RANK_ORDER);
+}
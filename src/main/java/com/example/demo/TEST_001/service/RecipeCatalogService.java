@@ -0,0 +1,202 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.dto.UserRecipeDTO;
+import com.example.demo.TEST_001.repository.UserRecipeMatchRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * 레시피 카탈로그 스냅샷 서비스
+ * user_recipe 의 재료 JSON 을 레시피당 한 번만 파싱하여 불변 스냅샷으로 보관하고,
+ * user_recipe 행이 바뀔 때(API 동기화, 사용자 레시피 작성/수정/삭제)만 새 스냅샷으로 교체
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeCatalogService {
+
+    private final UserRecipeMatchRepository matchRepository;
+    private final IngredientVocabulary ingredientVocabulary;
+    private final FridgeMatchCache fridgeMatchCache;
+    private final ExpiryScoreCache expiryScoreCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile RecipeCatalogSnapshot snapshot;
+
+    /**
+     * 현재 카탈로그 스냅샷 (최초 호출 시 DB에서 구축)
+     */
+    public RecipeCatalogSnapshot getSnapshot() {
+        RecipeCatalogSnapshot current = snapshot;
+        if (current == null) {
+            current = reload();
+        }
+        return current;
+    }
+
+    /**
+     * DB에서 전체 카탈로그를 다시 읽어 스냅샷 재구축
+     * 재료 JSON 은 스트리밍으로 한 행씩 받아 파싱하므로 최대 메모리는 레시피 수와 무관
+     */
+    public synchronized RecipeCatalogSnapshot reload() {
+        long startTime = System.currentTimeMillis();
+
+        // 행이 도착하는 대로 재료 사전 ID 배열로 인코딩 (재료 JSON 원문은 행 처리 후 바로 버려짐)
+        List<CatalogRecipe> recipes = new ArrayList<>();
+        matchRepository.streamAllRecipes(row -> {
+            Long recipeId = ((Number) row.get("id")).longValue();
+            String source = row.get("source") != null ? (String) row.get("source") : "user";
+            String json = (String) row.get("ingredientsJson");
+            recipes.add(new CatalogRecipe(recipeId, source, encodeIngredients(parseIngredients(source, json, json))));
+        });
+
+        RecipeCatalogSnapshot current = snapshot;
+        RecipeCatalogSnapshot newSnapshot = new RecipeCatalogSnapshot(ingredientVocabulary, recipes,
+                current != null ? current.getVersion() + 1 : 1L);
+        publish(newSnapshot);
+
+        log.info("레시피 카탈로그 스냅샷 구축 완료 - {}ms 소요, 레시피 {}개, 재료 {}종",
+                (System.currentTimeMillis() - startTime), newSnapshot.size(), newSnapshot.getIndex().size());
+        return newSnapshot;
+    }
+
+    /**
+     * 레시피 추가/수정 반영
+     */
+    public void refreshRecipe(UserRecipeDTO recipe) {
+        refreshRecipes(List.of(recipe));
+    }
+
+    /**
+     * 여러 레시피 추가/수정을 한 번에 반영 (API 동기화 배치용)
+     * 트랜잭션 안에서 호출되면 커밋 이후에 반영하여 롤백된 레시피가 스냅샷에 남지 않도록 함
+     */
+    public void refreshRecipes(Collection<UserRecipeDTO> changedRecipes) {
+        runAfterCommit(() -> applyRefresh(changedRecipes));
+    }
+
+    /**
+     * 레시피 삭제 반영 (트랜잭션 안에서 호출되면 커밋 이후에 반영)
+     */
+    public void removeRecipe(Long recipeId) {
+        if (recipeId != null) {
+            runAfterCommit(() -> applyRemove(recipeId));
+        }
+    }
+
+    private synchronized void applyRefresh(Collection<UserRecipeDTO> changedRecipes) {
+        RecipeCatalogSnapshot current = snapshot;
+        if (current == null) {
+            // 아직 구축 전이면 최초 구축 시 DB에서 함께 읽힘
+            return;
+        }
+
+        // 바뀐 레시피만 새로 파싱하고, 재료 색인은 바뀐 재료의 위치 목록만 다시 만듦
+        Map<Long, CatalogRecipe> changed = new LinkedHashMap<>();
+        for (UserRecipeDTO recipe : changedRecipes) {
+            if (recipe == null || recipe.getId() == null) {
+                continue;
+            }
+            String source = recipe.getSource() != null ? recipe.getSource() : "user";
+            changed.put(recipe.getId(), new CatalogRecipe(recipe.getId(), source,
+                    encodeIngredients(parseIngredientNames(recipe))));
+        }
+        if (!changed.isEmpty()) {
+            publish(current.withRecipes(changed.values()));
+        }
+    }
+
+    private synchronized void applyRemove(Long recipeId) {
+        RecipeCatalogSnapshot current = snapshot;
+        if (current != null) {
+            publish(current.withoutRecipes(List.of(recipeId)));
+        }
+    }
+
+    // 새 스냅샷 공개 후 지난 스냅샷 기준 캐시 결과를 바로 버려 이전 스냅샷이 힙에 남지 않도록 함
+    private void publish(RecipeCatalogSnapshot newSnapshot) {
+        this.snapshot = newSnapshot;
+        fridgeMatchCache.invalidateBefore(newSnapshot.getVersion());
+        expiryScoreCache.invalidateBefore(newSnapshot.getVersion());
+    }
+
+    // 트랜잭션 안이면 커밋 이후에 실행, 밖이면 바로 실행
+    private void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * 레시피 DTO 의 재료명 (카탈로그 구축과 같은 파싱 규칙)
+     */
+    public Set<String> parseIngredientNames(UserRecipeDTO recipe) {
+        String source = recipe.getSource() != null ? recipe.getSource() : "user";
+        return parseIngredients(source, recipe.getParsedIngredients(), recipe.getIngredients());
+    }
+
+    /**
+     * 재료명 -> 정렬된 재료 사전 ID 배열 (중복 없음)
+     * 동의어(대파, 파)나 수식어만 다른 이름(마늘, 다진마늘)은 같은 ID 가 되므로 한 번만 남김
+     */
+    int[] encodeIngredients(Collection<String> ingredients) {
+        int[] ids = new int[ingredients.size()];
+        int i = 0;
+        for (String ingredient : ingredients) {
+            ids[i++] = ingredientVocabulary.intern(ingredient);
+        }
+        Arrays.sort(ids);
+
+        int count = 0;
+        for (int id : ids) {
+            if (count == 0 || ids[count - 1] != id) {
+                ids[count++] = id;
+            }
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * 레시피 재료 JSON 파싱
+     * API 레시피: parsed_ingredients ["소금", "설탕", ...]
+     * 사용자 레시피: ingredients [{"name":"김치","amount":"200g"}, ...]
+     */
+    private Set<String> parseIngredients(String source, String parsedIngredients, String ingredientsJson) {
+        boolean isApi = "api".equals(source);
+        String json = isApi ? parsedIngredients : ingredientsJson;
+        Set<String> ingredientSet = new HashSet<>();
+
+        if (json == null || json.isEmpty() || json.equals("[]")) {
+            return Collections.unmodifiableSet(ingredientSet);
+        }
+
+        try {
+            JsonNode jsonArray = objectMapper.readTree(json);
+            if (jsonArray.isArray()) {
+                for (JsonNode node : jsonArray) {
+                    String ingredient = isApi ? node.asText().trim() : node.path("name").asText().trim();
+                    if (!ingredient.isEmpty()) {
+                        ingredientSet.add(ingredient);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("레시피 재료 JSON 파싱 실패: {}", e.getMessage());
+        }
+        return Collections.unmodifiableSet(ingredientSet);
+    }
+}
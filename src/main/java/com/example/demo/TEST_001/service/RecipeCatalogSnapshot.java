@@ -0,0 +1,246 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.*;
+
+/**
+ * 레시피 카탈로그 불변 스냅샷 (재료 ID 로 인코딩된 레시피 + 재료 역색인)
+ * 레시피가 바뀌면 새 스냅샷으로 교체되므로, 읽는 쪽은 잠금 없이 사용할 수 있다
+ * 일부 레시피만 바뀔 때는 withRecipes / withoutRecipes 로 바뀐 재료의 색인 목록만 새로 만든다
+ * 교체될 때마다 버전이 1씩 올라가므로 두 스냅샷 중 어느 쪽이 더 최신인지 비교할 수 있다
+ */
+public final class RecipeCatalogSnapshot {
+
+    private final IngredientVocabulary vocabulary;
+    private final long version;
+    private final CatalogRecipe[] recipes;
+    private final Map<Long, Integer> positions;
+    private final RecipeIngredientIndex index;
+    // 모든 레시피 재료 ID 를 위치 순서로 이어 붙인 배열 (위치 p 의 재료: [offsets[p], offsets[p + 1]))
+    private final int[] flatIngredientIds;
+    private final int[] ingredientOffsets;
+
+    RecipeCatalogSnapshot(IngredientVocabulary vocabulary, Collection<CatalogRecipe> recipes) {
+        this(vocabulary, recipes, 1L);
+    }
+
+    /**
+     * @param version 스냅샷 버전 (교체 전 스냅샷보다 커야 함)
+     */
+    RecipeCatalogSnapshot(IngredientVocabulary vocabulary, Collection<CatalogRecipe> recipes, long version) {
+        this(vocabulary, version, recipes.toArray(new CatalogRecipe[0]), null, null);
+    }
+
+    // positions / index 가 null 이면 recipes 로부터 새로 구축
+    private RecipeCatalogSnapshot(IngredientVocabulary vocabulary, long version, CatalogRecipe[] recipes,
+                                  Map<Long, Integer> positions, RecipeIngredientIndex index) {
+        this.vocabulary = vocabulary;
+        this.version = version;
+        this.recipes = recipes;
+        if (positions == null) {
+            positions = new HashMap<>();
+            for (int position = 0; position < recipes.length; position++) {
+                positions.put(recipes[position].id(), position);
+            }
+        }
+        this.positions = positions;
+        this.index = index != null ? index : RecipeIngredientIndex.build(recipes, vocabulary.size());
+
+        int[] offsets = new int[this.recipes.length + 1];
+        for (int position = 0; position < this.recipes.length; position++) {
+            offsets[position + 1] = offsets[position] + this.recipes[position].ingredientIds().length;
+        }
+        int[] flat = new int[offsets[this.recipes.length]];
+        for (int position = 0; position < this.recipes.length; position++) {
+            int[] ids = this.recipes[position].ingredientIds();
+            System.arraycopy(ids, 0, flat, offsets[position], ids.length);
+        }
+        this.flatIngredientIds = flat;
+        this.ingredientOffsets = offsets;
+    }
+
+    /**
+     * 레시피 추가/수정을 반영한 새 스냅샷
+     * 수정된 레시피는 같은 위치에서 교체하고 새 레시피는 끝에 덧붙이며,
+     * 재료 색인은 바뀐 레시피가 쓰거나 쓰던 재료의 위치 목록만 새로 만들고 나머지는 공유
+     * (레시피 배열/위치 맵/이어 붙인 재료 배열은 복사하지만 파싱이나 색인 재구축은 없음)
+     */
+    RecipeCatalogSnapshot withRecipes(Collection<CatalogRecipe> changedRecipes) {
+        CatalogRecipe[] next = Arrays.copyOf(recipes, recipes.length + changedRecipes.size());
+        Map<Long, Integer> nextPositions = new HashMap<>(positions);
+        Map<Integer, CatalogRecipe> previousAt = new HashMap<>();
+        int size = recipes.length;
+        for (CatalogRecipe recipe : changedRecipes) {
+            Integer position = nextPositions.get(recipe.id());
+            if (position == null) {
+                position = size++;
+                nextPositions.put(recipe.id(), position);
+            }
+            previousAt.putIfAbsent(position, position < recipes.length ? recipes[position] : null);
+            next[position] = recipe;
+        }
+        return withChangedPositions(Arrays.copyOf(next, size), nextPositions, previousAt);
+    }
+
+    /**
+     * 레시피 삭제를 반영한 새 스냅샷
+     * 빈 자리에는 마지막 레시피를 옮겨 채우므로 색인은 삭제된 레시피와 옮겨진 레시피의 재료 목록만 바뀜
+     */
+    RecipeCatalogSnapshot withoutRecipes(Collection<Long> recipeIds) {
+        CatalogRecipe[] next = recipes.clone();
+        Map<Long, Integer> nextPositions = new HashMap<>(positions);
+        Map<Integer, CatalogRecipe> previousAt = new HashMap<>();
+        int size = recipes.length;
+        for (Long recipeId : recipeIds) {
+            Integer position = nextPositions.remove(recipeId);
+            if (position == null) {
+                continue;
+            }
+            int last = --size;
+            previousAt.putIfAbsent(position, recipes[position]);
+            previousAt.putIfAbsent(last, recipes[last]);
+            if (position != last) {
+                next[position] = next[last];
+                nextPositions.put(next[position].id(), position);
+            }
+            next[last] = null;
+        }
+        if (previousAt.isEmpty()) {
+            return this;
+        }
+        return withChangedPositions(Arrays.copyOf(next, size), nextPositions, previousAt);
+    }
+
+    /**
+     * 위치별 레시피가 바뀐 새 스냅샷 (바뀐 위치의 이전/새 레시피 재료의 색인 목록만 다시 만듦)
+     * @param previousAt 바뀐 위치 -> 이전 레시피 (새로 생긴 위치면 null)
+     */
+    private RecipeCatalogSnapshot withChangedPositions(CatalogRecipe[] next, Map<Long, Integer> nextPositions,
+                                                       Map<Integer, CatalogRecipe> previousAt) {
+        Set<Integer> affectedIds = new HashSet<>();
+        for (Map.Entry<Integer, CatalogRecipe> entry : previousAt.entrySet()) {
+            if (entry.getValue() != null) {
+                for (int id : entry.getValue().ingredientIds()) {
+                    affectedIds.add(id);
+                }
+            }
+            int position = entry.getKey();
+            if (position < next.length) {
+                for (int id : next[position].ingredientIds()) {
+                    affectedIds.add(id);
+                }
+            }
+        }
+
+        int[] changedPositions = previousAt.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        Map<Integer, int[]> postings = new HashMap<>();
+        for (int id : affectedIds) {
+            postings.put(id, rebuildPosting(id, index.postingOf(id), changedPositions, next));
+        }
+        return new RecipeCatalogSnapshot(vocabulary, version + 1, next, nextPositions,
+                index.withPostings(vocabulary.size(), postings));
+    }
+
+    // 기존 목록에서 바뀐 위치를 빼고, 바뀐 위치 중 이제 이 재료를 가진 위치를 더함 (오름차순)
+    private static int[] rebuildPosting(int ingredientId, int[] posting, int[] changedPositions, CatalogRecipe[] next) {
+        int[] merged = new int[posting.length + changedPositions.length];
+        int count = 0;
+        int c = 0;
+        for (int position : posting) {
+            while (c < changedPositions.length && changedPositions[c] < position) {
+                count = addIfContains(merged, count, changedPositions[c++], ingredientId, next);
+            }
+            if (c < changedPositions.length && changedPositions[c] == position) {
+                count = addIfContains(merged, count, changedPositions[c++], ingredientId, next);
+            } else {
+                merged[count++] = position;
+            }
+        }
+        while (c < changedPositions.length) {
+            count = addIfContains(merged, count, changedPositions[c++], ingredientId, next);
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    private static int addIfContains(int[] merged, int count, int position, int ingredientId, CatalogRecipe[] next) {
+        if (position < next.length && Arrays.binarySearch(next[position].ingredientIds(), ingredientId) >= 0) {
+            merged[count++] = position;
+        }
+        return count;
+    }
+
+    public IngredientVocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    public List<CatalogRecipe> getRecipes() {
+        return Collections.unmodifiableList(Arrays.asList(recipes));
+    }
+
+    /**
+     * 스냅샷 버전 (클수록 최신)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public RecipeIngredientIndex getIndex() {
+        return index;
+    }
+
+    public CatalogRecipe getRecipe(Long recipeId) {
+        Integer position = positions.get(recipeId);
+        return position != null ? recipes[position] : null;
+    }
+
+    /**
+     * 레시피의 스냅샷 내 위치 (카탈로그에 없으면 -1)
+     */
+    public int positionOf(Long recipeId) {
+        Integer position = positions.get(recipeId);
+        return position != null ? position : -1;
+    }
+
+    public CatalogRecipe getRecipeAt(int position) {
+        return recipes[position];
+    }
+
+    /**
+     * 위치 순서로 이어 붙인 재료 ID (점수 커널이 여러 레시피를 한 번에 훑을 때 사용, 수정 금지)
+     */
+    int[] getFlatIngredientIds() {
+        return flatIngredientIds;
+    }
+
+    /**
+     * 위치별 재료 시작 지점 (길이 size() + 1, 수정 금지)
+     */
+    int[] getIngredientOffsets() {
+        return ingredientOffsets;
+    }
+
+    /**
+     * 레시피의 재료명 목록 (카탈로그에 없으면 빈 Set)
+     */
+    public Set<String> getIngredientNames(Long recipeId) {
+        CatalogRecipe recipe = getRecipe(recipeId);
+        if (recipe == null) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (int id : recipe.ingredientIds()) {
+            names.add(vocabulary.nameOf(id));
+        }
+        return names;
+    }
+
+    /**
+     * 냉장고와 일치하는 재료를 하나 이상 가진 레시피 위치 조회
+     */
+    public BitSet findCandidates(FridgeVector fridge) {
+        return index.findCandidates(fridge.getMatchBits());
+    }
+
+    public int size() {
+        return recipes.length;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * 레시피 재료 역색인 (재료 사전 ID -> 해당 재료를 가진 레시피의 스냅샷 내 위치 목록)
+ */
+public final class RecipeIngredientIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int[][] postings;
+
+    private RecipeIngredientIndex(int[][] postings) {
+        this.postings = postings;
+    }
+
+    /**
+     * 스냅샷 레시피 배열로부터 색인 구축
+     */
+    public static RecipeIngredientIndex build(CatalogRecipe[] recipes, int vocabularySize) {
+        int[] counts = new int[vocabularySize];
+        for (CatalogRecipe recipe : recipes) {
+            for (int id : recipe.ingredientIds()) {
+                counts[id]++;
+            }
+        }
+
+        int[][] postings = new int[vocabularySize][];
+        for (int id = 0; id < vocabularySize; id++) {
+            postings[id] = counts[id] == 0 ? EMPTY : new int[counts[id]];
+        }
+        Arrays.fill(counts, 0);
+        for (int position = 0; position < recipes.length; position++) {
+            for (int id : recipes[position].ingredientIds()) {
+                postings[id][counts[id]++] = position;
+            }
+        }
+        return new RecipeIngredientIndex(postings);
+    }
+
+    /**
+     * 일부 재료의 위치 목록만 바꾼 새 색인 (나머지 목록 배열은 기존 색인과 공유)
+     * @param vocabularySize 현재 재료 사전 크기 (사전이 커졌으면 새 재료 자리는 빈 목록)
+     * @param replacedPostings 재료 ID -> 새 위치 목록 (오름차순)
+     */
+    RecipeIngredientIndex withPostings(int vocabularySize, Map<Integer, int[]> replacedPostings) {
+        int[][] copy = Arrays.copyOf(postings, Math.max(vocabularySize, postings.length));
+        for (int id = postings.length; id < copy.length; id++) {
+            copy[id] = EMPTY;
+        }
+        replacedPostings.forEach((id, posting) -> copy[id] = posting.length == 0 ? EMPTY : posting);
+        return new RecipeIngredientIndex(copy);
+    }
+
+    /**
+     * 재료를 가진 레시피 위치 목록 (오름차순, 수정 금지)
+     */
+    int[] postingOf(int ingredientId) {
+        return ingredientId < postings.length ? postings[ingredientId] : EMPTY;
+    }
+
+    /**
+     * 비트셋에 포함된 재료를 하나 이상 가진 레시피 위치 조회
+     * @param ingredientBits 재료 사전 ID 비트셋
+     */
+    public BitSet findCandidates(long[] ingredientBits) {
+        BitSet candidates = new BitSet();
+        int words = Math.min(ingredientBits.length, (postings.length + 63) >>> 6);
+        for (int word = 0; word < words; word++) {
+            long bits = ingredientBits[word];
+            while (bits != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (id >= postings.length) {
+                    break;
+                }
+                for (int position : postings[id]) {
+                    candidates.set(position);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 하나 이상의 레시피에 등장하는 재료 종류 수
+     */
+    public int size() {
+        int count = 0;
+        for (int[] posting : postings) {
+            if (posting.length > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
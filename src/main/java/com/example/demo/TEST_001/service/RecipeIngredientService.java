@@ -0,0 +1,94 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.dto.UserRecipeDTO;
+import com.example.demo.TEST_001.repository.RecipeIngredientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * recipe_ingredient / ingredient_vocab 유지
+ * 레시피 재료 JSON 을 카탈로그와 같은 규칙으로 파싱하여 레시피-재료 행으로 저장 (DB 집계 매칭용)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeIngredientService {
+
+    // ingredient_vocab.name 길이 (넘는 재료명은 DB 집계 매칭에서 제외)
+    private static final int MAX_NAME_LENGTH = 255;
+    // 최초 채우기 시 한 트랜잭션에 담는 레시피 수
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final IngredientVocabulary ingredientVocabulary;
+    private final RecipeCatalogService recipeCatalogService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 레시피 재료 행 교체 (API 동기화 배치 / 사용자 레시피 작성·수정)
+     */
+    public void replaceIngredients(Collection<UserRecipeDTO> recipes) {
+        Map<Long, Set<String>> ingredientsByRecipe = new LinkedHashMap<>();
+        for (UserRecipeDTO recipe : recipes) {
+            if (recipe != null && recipe.getId() != null) {
+                ingredientsByRecipe.put(recipe.getId(), recipeCatalogService.parseIngredientNames(recipe));
+            }
+        }
+        save(ingredientsByRecipe);
+    }
+
+    /**
+     * recipe_ingredient 가 비어 있으면 현재 카탈로그 스냅샷으로 채움 (기존 레시피 최초 반영)
+     */
+    public void backfillIfEmpty() {
+        if (recipeIngredientRepository.existsAny()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+
+        RecipeCatalogSnapshot catalog = recipeCatalogService.getSnapshot();
+        Map<Long, Set<String>> chunk = new LinkedHashMap<>();
+        for (CatalogRecipe recipe : catalog.getRecipes()) {
+            chunk.put(recipe.id(), catalog.getIngredientNames(recipe.id()));
+            if (chunk.size() == BACKFILL_CHUNK_SIZE) {
+                save(chunk);
+                chunk.clear();
+            }
+        }
+        save(chunk);
+
+        log.info("레시피 재료 테이블 최초 채우기 완료 - {}ms 소요, 레시피 {}개",
+                (System.currentTimeMillis() - startTime), catalog.size());
+    }
+
+    // 사전 추가 -> 기존 행 삭제 -> 새 행 저장 (한 트랜잭션)
+    private void save(Map<Long, Set<String>> ingredientsByRecipe) {
+        if (ingredientsByRecipe.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Set<String>> normalized = new LinkedHashMap<>();
+        Set<String> vocabulary = new LinkedHashSet<>();
+        for (Map.Entry<Long, Set<String>> entry : ingredientsByRecipe.entrySet()) {
+            Set<String> names = new LinkedHashSet<>();
+            for (String name : entry.getValue()) {
+                String value = ingredientVocabulary.normalize(name);
+                if (!value.isEmpty() && value.length() <= MAX_NAME_LENGTH) {
+                    names.add(value);
+                }
+            }
+            normalized.put(entry.getKey(), names);
+            vocabulary.addAll(names);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recipeIngredientRepository.insertVocab(vocabulary);
+            recipeIngredientRepository.deleteByRecipeIds(normalized.keySet());
+            recipeIngredientRepository.saveRecipeIngredients(normalized);
+        });
+    }
+}
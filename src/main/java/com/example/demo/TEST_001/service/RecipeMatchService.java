@@ -1,17 +1,18 @@
 package com.example.demo.TEST_001.service;
 
+import com.example.demo.TEST_001.config.AsyncConfig;
 import com.example.demo.TEST_001.dto.IngredientDTO;
 import com.example.demo.TEST_001.repository.IngredientRepository;
 import com.example.demo.TEST_001.repository.UserRecipeMatchRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,14 +23,37 @@ public class RecipeMatchService {
 
     private final UserRecipeMatchRepository matchRepository;
     private final IngredientRepository ingredientRepository;
+    private final RecipeCatalogService recipeCatalogService;
+    private final IngredientVocabulary ingredientVocabulary;
+    private final ParallelMatchScorer matchScorer;
+    private final FridgeOwnerIndex fridgeOwnerIndex;
+    private final MatchVersionTracker matchVersionTracker;
+    private final FridgeMatchCache fridgeMatchCache;
+    private final ExpiryScoreCache expiryScoreCache;
+    private final MatchRetentionService matchRetentionService;
     private final SqlSessionTemplate sql;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TransactionTemplate transactionTemplate;
+
+    // 매칭 모드 (materialized: user_recipe_match 테이블 유지 / on-demand: 조회 시점 계산, 테이블 쓰기 없음)
+    @Value("${recipe.match.mode:materialized}")
+    private String matchMode;
+
+    // 매칭 결과 저장 형식 (rows: user_recipe_match 에 레시피별 행 / blob: user_match_blob 에 사용자당 압축 한 행)
+    @Value("${recipe.match.storage:rows}")
+    private String matchStorage;
+
+    // 매칭 계산 위치 (memory: 카탈로그 스냅샷으로 앱에서 계산 / sql: recipe_ingredient 그룹 조인으로 DB 에서 완전 일치만 계산)
+    @Value("${recipe.match.engine:memory}")
+    private String matchEngine;
+
+    // 목록 순위 기준 (match: 매칭률 순 / expiry: 유통기한이 임박한 냉장고 재료를 많이 쓰는 순)
+    @Value("${recipe.match.ranking:match}")
+    private String matchRanking;
 
     /**
      * 사용자의 모든 레시피 매칭 점수 재계산 (비동기)
      */
-    @Async
-    @Transactional
+    @Async(AsyncConfig.MATCH_EXECUTOR)
     public void recalculateMatchScoresAsync(Long userId) {
         recalculateMatchScores(userId);
     }
@@ -37,224 +61,575 @@ public class RecipeMatchService {
     /**
      * 사용자의 모든 레시피 매칭 점수 재계산 (동기)
      * API 레시피 + 사용자 레시피 모두 포함
+     * 계산은 트랜잭션 밖에서 하고, 결과를 새 세대로 써 둔 뒤 현재 세대 번호만 바꿔서 공개
+     * (조회는 항상 현재 세대만 읽으므로 재계산 중에도 이전 결과가 그대로 보임)
      */
-    @Transactional
     public void recalculateMatchScores(Long userId) {
+        if (isBlobStorage()) {
+            recalculateMatchBlob(userId);
+            return;
+        }
+
         log.info("사용자 {} 매칭 점수 재계산 시작 (API + 사용자 레시피)", userId);
         long startTime = System.currentTimeMillis();
 
         try {
-            // 1. 사용자의 활성 식재료 목록 조회
-            List<IngredientDTO> userIngredients = ingredientRepository.getList(userId);
-            Set<String> userIngredientNames = userIngredients.stream()
-                    .map(IngredientDTO::getIngredientName)
-                    .map(String::trim)
-                    .collect(Collectors.toSet());
-
-            // 2. 기존 매칭 점수 삭제
-            matchRepository.deleteByUserId(userId);
-
-            // 사용자 식재료가 없으면 계산할 필요 없음
-            if (userIngredientNames.isEmpty()) {
-                log.info("사용자 {} 식재료 없음 - 매칭 점수 계산 스킵", userId);
-                return;
+            // 0. 상태 행 준비 (비활성 정리로 지워졌던 사용자면 재생성으로 집계)
+            initMatchState(userId);
+
+            // 1. 새 세대 번호 발급 (식재료 조회 전에 발급하므로 번호가 클수록 더 최신 냉장고 기준)
+            long generation = allocateGeneration(userId);
+            // 이번 계산이 반영하는 냉장고 버전 (식재료를 읽기 전에 읽어 두어 더 새 버전으로 기록되지 않게 함)
+            long fridgeVersion = matchVersionTracker.loadFridgeVersion(userId);
+
+            // 2. 사용자의 활성 식재료 목록 조회
+            List<String> userIngredientNames = getUserIngredientNames(userId);
+            fridgeOwnerIndex.update(userId, userIngredientNames);
+
+            // 3. 냉장고를 재료 사전 비트셋으로 변환 후, 역색인에서 겹치는 재료가 있는 레시피만 채점
+            //    (DB 연결 없이 메모리에서 계산, 병렬 모드면 전용 풀에서 청크 단위로 계산)
+            //    재료 구성이 같은 냉장고는 지문 캐시의 계산 결과를 함께 사용
+            //    사용자 식재료가 없으면 빈 세대를 공개하여 이전 결과를 내림
+            // 4. 새 세대로 배치 저장 (공개 전이라 조회에 보이지 않으므로 전송 단위마다 바로 커밋)
+            //    DB 집계 매칭이면 3, 4 를 그룹 조인 INSERT ... SELECT 한 문장으로 처리
+            int candidateCount = 0;
+            int savedCount;
+            long writeStart;
+            if (isSqlEngine()) {
+                writeStart = System.currentTimeMillis();
+                savedCount = matchRepository.insertExactMatches(userId, generation, canonicalNames(userIngredientNames));
+                candidateCount = savedCount;
+            } else {
+                List<Map<String, Object>> matchList = Collections.emptyList();
+                if (!userIngredientNames.isEmpty()) {
+                    FridgeMatchResult matches = fridgeMatchCache.getOrCompute(recipeCatalogService.getSnapshot(), userIngredientNames);
+                    candidateCount = matches.getCandidateCount();
+                    matchList = new ArrayList<>(matches.size());
+                    for (int i = 0; i < matches.size(); i++) {
+                        matchList.add(toMatchData(userId, generation, matches.recipeAt(i), matches.scoreAt(i),
+                                matches.matchedIngredientsAt(i)));
+                    }
+                }
+
+                writeStart = System.currentTimeMillis();
+                matchRepository.batchSave(matchList);
+                savedCount = matchList.size();
             }
 
-            // 3. 모든 레시피 조회 (API + 사용자 레시피)
-            List<Map<String, Object>> recipes = matchRepository.findAllRecipeIds();
+            // 5. 현재 세대 교체 (단일 UPDATE 로 원자적 공개)
+            if (!matchRepository.publishGeneration(userId, generation, fridgeVersion)) {
+                // 더 최신 세대가 먼저 공개됨 - 이번 결과는 폐기
+                matchRepository.deleteGeneration(userId, generation);
+                log.info("사용자 {} 매칭 세대 {} 폐기 (더 최신 세대가 이미 공개됨)", userId, generation);
+                return;
+            }
 
-            // 4. 배치 저장용 리스트
-            List<Map<String, Object>> matchList = new ArrayList<>();
-            int batchSize = 100;
+            matchVersionTracker.onMatchPublished(userId, fridgeVersion);
 
-            for (Map<String, Object> recipe : recipes) {
-                Long recipeId = ((Number) recipe.get("id")).longValue();
-                String source = (String) recipe.get("source");
+            // 6. 지난 세대 정리 (이미 조회 대상이 아니므로 공개 후 나눠서 삭제)
+            int purged = purgeStaleGenerations(userId, generation);
 
-                Map<String, Object> matchResult;
+            long endTime = System.currentTimeMillis();
+            log.info("사용자 {} 매칭 점수 재계산 완료 - {}ms 소요 (저장 {}ms), 세대 {}, 후보 {} 레시피 처리, 저장 {}건, 지난 세대 {}건 삭제 (엔진 {}, 병렬도 {}, 커널 {})",
+                    userId, (endTime - startTime), (endTime - writeStart), generation, candidateCount,
+                    savedCount, purged, isSqlEngine() ? "sql" : "memory", matchScorer.getParallelism(), matchScorer.getKernelName());
 
-                if ("api".equals(source)) {
-                    // API 레시피: parsed_ingredients 사용
-                    String parsedIngredients = (String) recipe.get("parsedIngredients");
-                    matchResult = calculateMatch(parsedIngredients, userIngredientNames);
-                } else {
-                    // 사용자 레시피: ingredients JSON 사용
-                    String ingredientsJson = (String) recipe.get("ingredients");
-                    matchResult = calculateMatchForUserRecipe(ingredientsJson, userIngredientNames);
-                }
+        } catch (Exception e) {
+            log.error("사용자 {} 매칭 점수 재계산 실패", userId, e);
+        }
+    }
 
-                int matchedCount = (int) matchResult.get("matchedCount");
-                int totalCount = (int) matchResult.get("totalCount");
-                double matchPercent = (double) matchResult.get("matchPercent");
-                String matchedIngredientStr = (String) matchResult.get("matchedIngredients");
-
-                // 매칭된 재료가 있는 경우만 저장 (저장 공간 최적화)
-                if (matchedCount > 0) {
-                    Map<String, Object> matchData = new HashMap<>();
-                    matchData.put("userId", userId);
-                    matchData.put("recipeId", recipeId);
-                    matchData.put("matchedCount", matchedCount);
-                    matchData.put("totalCount", totalCount);
-                    matchData.put("matchPercent", matchPercent);
-                    matchData.put("matchedIngredients", matchedIngredientStr);
-                    matchList.add(matchData);
-                }
+    /**
+     * 압축 저장 모드 재계산
+     * 매칭 결과 전체를 MatchBlobCodec 형식으로 묶어 user_match_blob 한 행만 교체
+     * (세대 관리 없이 행 하나를 바꾸는 것으로 원자적으로 공개됨)
+     */
+    private void recalculateMatchBlob(Long userId) {
+        long startTime = System.currentTimeMillis();
 
-                // 배치 저장
-                if (matchList.size() >= batchSize) {
-                    matchRepository.batchSave(matchList);
-                    matchList.clear();
+        try {
+            // 1. 상태 행 준비 + 이번 계산이 반영하는 냉장고 버전 (식재료를 읽기 전에 읽음)
+            initMatchState(userId);
+            long fridgeVersion = matchVersionTracker.loadFridgeVersion(userId);
+            List<String> userIngredientNames = getUserIngredientNames(userId);
+            fridgeOwnerIndex.update(userId, userIngredientNames);
+
+            // 2. 메모리에서 채점 (지문 캐시 공유) 후 압축
+            List<StoredMatch> matchList = new ArrayList<>();
+            if (!userIngredientNames.isEmpty()) {
+                FridgeMatchResult matches = fridgeMatchCache.getOrCompute(recipeCatalogService.getSnapshot(), userIngredientNames);
+                for (int i = 0; i < matches.size(); i++) {
+                    long score = matches.scoreAt(i);
+                    matchList.add(new StoredMatch(matches.recipeAt(i).id(), MatchKernel.matchedCount(score),
+                            MatchKernel.totalCount(score), matches.matchedIngredientListAt(i)));
                 }
             }
+            byte[] data = MatchBlobCodec.encode(matchList);
 
-            // 남은 데이터 저장
-            if (!matchList.isEmpty()) {
-                matchRepository.batchSave(matchList);
-            }
+            // 3. 한 행 교체 + 매칭 버전 기록
+            transactionTemplate.executeWithoutResult(status -> {
+                matchRepository.saveMatchBlob(userId, matchList.size(), data);
+                matchRepository.updateMatchVersion(userId, fridgeVersion);
+            });
+            matchVersionTracker.onMatchPublished(userId, fridgeVersion);
 
-            long endTime = System.currentTimeMillis();
-            log.info("사용자 {} 매칭 점수 재계산 완료 - {}ms 소요, {} 레시피 처리",
-                    userId, (endTime - startTime), recipes.size());
+            log.info("사용자 {} 매칭 점수 재계산 완료 (압축 저장) - {}ms 소요, 매칭 {}건, {}바이트",
+                    userId, (System.currentTimeMillis() - startTime), matchList.size(), data.length);
 
         } catch (Exception e) {
-            log.error("사용자 {} 매칭 점수 재계산 실패", userId, e);
+            log.error("사용자 {} 매칭 점수 재계산 실패 (압축 저장)", userId, e);
         }
     }
 
+    // 매칭 상태 행이 없으면 생성
+    private void initMatchState(Long userId) {
+        if (matchRepository.initMatchState(userId)) {
+            matchRetentionService.onMatchStateCreated(userId);
+        }
+    }
+
+    // 새 세대 번호 발급 (상태 행 준비와 발급 사이에 비활성 정리로 행이 지워졌으면 다시 만들고 재시도)
+    private long allocateGeneration(Long userId) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Long generation = matchRepository.allocateGeneration(userId);
+            if (generation != null) {
+                return generation;
+            }
+            log.info("사용자 {} 매칭 상태 행이 없어 다시 생성 후 세대 발급 재시도", userId);
+            initMatchState(userId);
+        }
+        throw new IllegalStateException("사용자 " + userId + " 매칭 세대 발급 실패 (상태 행 없음)");
+    }
+
+    // 지난 세대 행을 limit 단위로 삭제 (한 번에 오래 잠그지 않도록)
+    private int purgeStaleGenerations(Long userId, long currentGeneration) {
+        int purgeChunk = 1000;
+        int total = 0;
+        int deleted;
+        do {
+            deleted = matchRepository.purgeGenerationsBelow(userId, currentGeneration, purgeChunk);
+            total += deleted;
+        } while (deleted == purgeChunk);
+        return total;
+    }
+
     /**
-     * 매칭 점수 계산
+     * 식재료 변경분만 반영하는 증분 매칭 갱신 (비동기)
      */
-    private Map<String, Object> calculateMatch(String parsedIngredients, Set<String> userIngredientNames) {
-        Map<String, Object> result = new HashMap<>();
-        Set<String> recipeIngredientSet = new HashSet<>();
-
-        // JSON 파싱
-        if (parsedIngredients != null && !parsedIngredients.isEmpty() && !parsedIngredients.equals("[]")) {
-            try {
-                JsonNode jsonArray = objectMapper.readTree(parsedIngredients);
-                if (jsonArray.isArray()) {
-                    for (JsonNode node : jsonArray) {
-                        String ingredient = node.asText().trim();
-                        if (!ingredient.isEmpty()) {
-                            recipeIngredientSet.add(ingredient);
-                        }
-                    }
+    @Async(AsyncConfig.MATCH_EXECUTOR)
+    public void applyIngredientDeltaAsync(Long userId, Collection<String> changedIngredientNames) {
+        applyIngredientDelta(userId, changedIngredientNames);
+    }
+
+    /**
+     * 식재료 변경분만 반영하는 증분 매칭 갱신 (동기)
+     * 변경된 식재료와 완전/부분 일치하는 재료를 가진 레시피의 매칭 행만 다시 계산하여
+     * matched_count / match_percent 를 갱신하고, 더 이상 매칭되지 않는 행은 삭제
+     * 계산은 트랜잭션 밖에서 하고, 현재 세대 행 반영만 짧은 트랜잭션으로 처리
+     */
+    public void applyIngredientDelta(Long userId, Collection<String> changedIngredientNames) {
+        // 공개된 매칭 결과가 없으면 증분 기준이 없으므로 전체 재계산
+        // 압축 저장 모드는 어차피 한 행을 다시 쓰므로 전체 재계산 (채점은 지문 캐시를 공유)
+        // DB 집계 매칭은 전체 재계산도 그룹 조인 한 문장이므로 전체 재계산
+        if (isBlobStorage() || isSqlEngine() || !matchVersionTracker.hasMatchVersion(userId)) {
+            recalculateMatchScores(userId);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            RecipeCatalogSnapshot catalog = recipeCatalogService.getSnapshot();
+            FridgeVector changed = FridgeVector.encode(ingredientVocabulary, changedIngredientNames.stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+            if (changed.isEmpty()) {
+                return;
+            }
+
+            // 1. 반영할 현재 세대 + 변경 후 사용자의 활성 식재료 목록
+            long generation = matchRepository.getOrCreateCurrentGeneration(userId);
+            long fridgeVersion = matchVersionTracker.loadFridgeVersion(userId);
+            List<String> userIngredientNames = getUserIngredientNames(userId);
+            fridgeOwnerIndex.update(userId, userIngredientNames);
+            FridgeVector fridge = FridgeVector.encode(ingredientVocabulary, userIngredientNames);
+
+            // 2. 변경된 식재료의 영향을 받는 레시피만 조회
+            BitSet affected = catalog.findCandidates(changed);
+
+            // 3. 영향받는 레시피만 다시 계산
+            List<Map<String, Object>> upsertList = new ArrayList<>();
+            List<Long> deleteList = new ArrayList<>();
+
+            for (int position = affected.nextSetBit(0); position >= 0; position = affected.nextSetBit(position + 1)) {
+                CatalogRecipe recipe = catalog.getRecipeAt(position);
+                long score = MatchKernel.score(recipe.ingredientIds(), fridge.getMatchBits());
+
+                if (MatchKernel.matchedCount(score) > 0) {
+                    upsertList.add(toMatchData(userId, generation, recipe, score,
+                            fridge.describeMatches(recipe.ingredientIds(), ingredientVocabulary)));
+                } else {
+                    deleteList.add(recipe.id());
                 }
-            } catch (Exception e) {
-                log.warn("JSON 파싱 실패: {}", e.getMessage());
             }
-        }
 
-        int totalCount = recipeIngredientSet.size();
-        if (totalCount == 0) {
-            result.put("matchedCount", 0);
-            result.put("totalCount", 0);
-            result.put("matchPercent", 0.0);
-            result.put("matchedIngredients", "");
-            return result;
+            // 4. 변경된 행만 반영 (갱신/삭제가 함께 보이도록 한 트랜잭션)
+            int batchSize = 100;
+            transactionTemplate.executeWithoutResult(status -> {
+                matchRepository.batchSave(upsertList);
+                for (int i = 0; i < deleteList.size(); i += batchSize) {
+                    matchRepository.deleteByUserIdAndRecipeIds(userId, generation,
+                            deleteList.subList(i, Math.min(i + batchSize, deleteList.size())));
+                }
+                matchRepository.updateMatchVersion(userId, fridgeVersion);
+            });
+            matchVersionTracker.onMatchPublished(userId, fridgeVersion);
+
+            log.info("사용자 {} 매칭 점수 증분 갱신 완료 - {}ms 소요, 변경 식재료 {}, 갱신 {}건, 삭제 {}건",
+                    userId, (System.currentTimeMillis() - startTime), changedIngredientNames, upsertList.size(), deleteList.size());
+
+        } catch (Exception e) {
+            log.error("사용자 {} 매칭 점수 증분 갱신 실패", userId, e);
         }
+    }
 
-        int matchedCount = 0;
-        List<String> matchedIngredients = new ArrayList<>();
+    /**
+     * 레시피 한 건의 추가/수정을 매칭 테이블을 유지 중인 모든 사용자에게 반영
+     * 냉장고 재료 역색인으로 레시피 재료와 하나라도 겹치는 사용자만 찾아 그 레시피만 채점하고,
+     * 현재 세대의 기존 행을 지운 뒤 매칭된 사용자 행을 배치로 저장 (한 트랜잭션)
+     * @param previousIngredientNames 수정 전 재료명 (압축 저장 모드에서 이전 재료로만 매칭되던 사용자 찾기용)
+     */
+    public void applyRecipeChange(Long recipeId, Collection<String> previousIngredientNames) {
+        long startTime = System.currentTimeMillis();
 
-        for (String recipeIngredient : recipeIngredientSet) {
-            // 완전 일치
-            if (userIngredientNames.contains(recipeIngredient)) {
-                matchedCount++;
-                matchedIngredients.add(recipeIngredient);
-                continue;
+        try {
+            RecipeCatalogSnapshot catalog = recipeCatalogService.getSnapshot();
+            CatalogRecipe recipe = catalog.getRecipe(recipeId);
+            if (recipe == null) {
+                return;
+            }
+            if (isBlobStorage()) {
+                applyRecipeChangeToBlobs(catalog, recipe, previousIngredientNames);
+                return;
+            }
+            if (isSqlEngine()) {
+                applyRecipeChangeBySql(catalog, recipeId);
+                return;
             }
 
-            // 부분 일치
-            for (String userIngredient : userIngredientNames) {
-                if (recipeIngredient.contains(userIngredient) || userIngredient.contains(recipeIngredient)) {
-                    matchedCount++;
-                    matchedIngredients.add(userIngredient + "(부분)");
-                    break;
+            // 1. 재료가 겹치는 사용자와 각 사용자의 현재 세대
+            Set<Long> userIds = fridgeOwnerIndex.findUsersSharingAny(catalog.getIngredientNames(recipeId));
+            Map<Long, Long> generations = matchRepository.findCurrentGenerations(userIds);
+
+            // 2. 사용자마다 이 레시피의 재료만 판정하여 채점
+            List<Map<String, Object>> upsertList = new ArrayList<>();
+            for (Map.Entry<Long, Long> entry : generations.entrySet()) {
+                Long userId = entry.getKey();
+                FridgeVector fridge = FridgeVector.encode(ingredientVocabulary,
+                        fridgeOwnerIndex.getIngredientNames(userId), recipe.ingredientIds());
+                long score = MatchKernel.score(recipe.ingredientIds(), fridge.getMatchBits());
+                if (MatchKernel.matchedCount(score) > 0) {
+                    upsertList.add(toMatchData(userId, entry.getValue(), recipe, score,
+                            fridge.describeMatches(recipe.ingredientIds(), ingredientVocabulary)));
                 }
             }
-        }
 
-        double matchPercent = totalCount > 0 ? (matchedCount * 100.0 / totalCount) : 0;
+            // 3. 수정 전 재료로 매칭되던 행까지 정리되도록 삭제 후 다시 저장
+            int[] deleted = new int[1];
+            transactionTemplate.executeWithoutResult(status -> {
+                deleted[0] = matchRepository.deleteCurrentByRecipeId(recipeId);
+                matchRepository.batchSave(upsertList);
+            });
 
-        result.put("matchedCount", matchedCount);
-        result.put("totalCount", totalCount);
-        result.put("matchPercent", Math.round(matchPercent * 100.0) / 100.0);
-        result.put("matchedIngredients", String.join(", ", matchedIngredients));
+            log.info("레시피 {} 변경 전파 완료 - {}ms 소요, 재료 겹치는 사용자 {}명, 저장 {}건, 기존 행 {}건 삭제",
+                    recipeId, (System.currentTimeMillis() - startTime), userIds.size(), upsertList.size(), deleted[0]);
 
-        return result;
+        } catch (Exception e) {
+            log.error("레시피 {} 변경 전파 실패", recipeId, e);
+        }
     }
 
     /**
-     * 사용자의 매칭 점수가 계산되어 있는지 확인
+     * DB 집계 매칭 레시피 변경 전파
+     * 재료가 겹치는 사용자를 냉장고 재료 역색인으로 찾고, 현재 세대의 이 레시피 행을 지운 뒤
+     * 역색인의 사용자별 대표 재료명과 recipe_ingredient 그룹 조인 결과를 바로 저장 (한 트랜잭션)
      */
-    public boolean hasMatchScores(Long userId) {
-        return matchRepository.countByUserId(userId) > 0;
+    private void applyRecipeChangeBySql(RecipeCatalogSnapshot catalog, Long recipeId) {
+        long startTime = System.currentTimeMillis();
+
+        List<Long> userIds = new ArrayList<>(fridgeOwnerIndex.findUsersSharingAny(catalog.getIngredientNames(recipeId)));
+        int batchSize = 500;
+        int[] counts = new int[2];
+        transactionTemplate.executeWithoutResult(status -> {
+            counts[0] = matchRepository.deleteCurrentByRecipeId(recipeId);
+            for (int i = 0; i < userIds.size(); i += batchSize) {
+                Map<Long, List<String>> namesByUser = new LinkedHashMap<>();
+                for (Long userId : userIds.subList(i, Math.min(i + batchSize, userIds.size()))) {
+                    namesByUser.put(userId, fridgeOwnerIndex.getIngredientNames(userId));
+                }
+                counts[1] += matchRepository.insertExactMatchesForRecipe(recipeId, namesByUser);
+            }
+        });
+
+        log.info("레시피 {} 변경 전파 완료 (DB 집계) - {}ms 소요, 재료 겹치는 사용자 {}명, 저장 {}건, 기존 행 {}건 삭제",
+                recipeId, (System.currentTimeMillis() - startTime), userIds.size(), counts[1], counts[0]);
     }
 
     /**
-     * 사용자 레시피용 매칭 계산
-     * ingredients JSON: [{"name":"김치","amount":"200g"}, ...]
+     * 압축 저장 모드 레시피 변경 전파
+     * 새 재료 또는 수정 전 재료가 겹치는 사용자의 압축 결과만 풀어서 해당 레시피 항목을 교체/제거한 뒤 다시 저장
+     * (읽기부터 저장까지 한 트랜잭션에서 행을 잠가 동시에 진행된 재계산 결과를 덮어쓰지 않도록 함)
      */
-    private Map<String, Object> calculateMatchForUserRecipe(String ingredientsJson, Set<String> userIngredientNames) {
-        Map<String, Object> result = new HashMap<>();
-        Set<String> recipeIngredientSet = new HashSet<>();
-
-        // JSON 파싱 (사용자 레시피 형식)
-        if (ingredientsJson != null && !ingredientsJson.isEmpty() && !ingredientsJson.equals("[]")) {
-            try {
-                JsonNode jsonArray = objectMapper.readTree(ingredientsJson);
-                if (jsonArray.isArray()) {
-                    for (JsonNode node : jsonArray) {
-                        // 사용자 레시피 형식: {"name": "재료명", "amount": "양"}
-                        String name = node.path("name").asText().trim();
-                        if (!name.isEmpty()) {
-                            recipeIngredientSet.add(name);
-                        }
-                    }
+    private void applyRecipeChangeToBlobs(RecipeCatalogSnapshot catalog, CatalogRecipe recipe,
+                                          Collection<String> previousIngredientNames) {
+        long startTime = System.currentTimeMillis();
+
+        Set<String> ingredientNames = new HashSet<>(catalog.getIngredientNames(recipe.id()));
+        if (previousIngredientNames != null) {
+            ingredientNames.addAll(previousIngredientNames);
+        }
+        Set<Long> userIds = fridgeOwnerIndex.findUsersSharingAny(ingredientNames);
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        int[] updated = new int[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Map<String, Object>> blobList = new ArrayList<>();
+            for (Map.Entry<Long, byte[]> entry : matchRepository.findMatchBlobs(userIds).entrySet()) {
+                Long userId = entry.getKey();
+                FridgeVector fridge = FridgeVector.encode(ingredientVocabulary,
+                        fridgeOwnerIndex.getIngredientNames(userId), recipe.ingredientIds());
+                long score = MatchKernel.score(recipe.ingredientIds(), fridge.getMatchBits());
+
+                List<StoredMatch> matches = MatchBlobCodec.decode(entry.getValue()).toList();
+                matches.removeIf(match -> match.recipeId() == recipe.id());
+                if (MatchKernel.matchedCount(score) > 0) {
+                    matches.add(new StoredMatch(recipe.id(), MatchKernel.matchedCount(score), MatchKernel.totalCount(score),
+                            fridge.matchedIngredients(recipe.ingredientIds(), ingredientVocabulary)));
                 }
-            } catch (Exception e) {
-                log.warn("사용자 레시피 ingredients JSON 파싱 실패: {}", e.getMessage());
+
+                Map<String, Object> blobData = new HashMap<>();
+                blobData.put("userId", userId);
+                blobData.put("recipeCount", matches.size());
+                blobData.put("data", MatchBlobCodec.encode(matches));
+                blobList.add(blobData);
             }
+            matchRepository.saveMatchBlobs(blobList);
+            updated[0] = blobList.size();
+        });
+
+        log.info("레시피 {} 변경 전파 완료 (압축 저장) - {}ms 소요, 재료 겹치는 사용자 {}명, 갱신 {}명",
+                recipe.id(), (System.currentTimeMillis() - startTime), userIds.size(), updated[0]);
+    }
+
+    /**
+     * 조회 시점 매칭 모드 여부
+     */
+    public boolean isOnDemandMode() {
+        return "on-demand".equals(matchMode);
+    }
+
+    /**
+     * 압축 저장 모드 여부 (조회 시점 매칭 모드에서는 저장하지 않으므로 해당 없음)
+     */
+    public boolean isBlobStorage() {
+        return !isOnDemandMode() && "blob".equals(matchStorage);
+    }
+
+    /**
+     * DB 집계 매칭 여부 (user_recipe_match 행을 유지하는 모드에서만 사용, 완전 일치만 셈)
+     */
+    public boolean isSqlEngine() {
+        return !isInMemoryRanking() && "sql".equals(matchEngine);
+    }
+
+    /**
+     * 유통기한 순위 모드 여부
+     */
+    public boolean isExpiryRanking() {
+        return "expiry".equals(matchRanking);
+    }
+
+    /**
+     * 메모리 순위 매김 사용 여부 (조회 시점 매칭 / 압축 저장 / 유통기한 순위 모드)
+     */
+    public boolean isInMemoryRanking() {
+        return isOnDemandMode() || isBlobStorage() || isExpiryRanking();
+    }
+
+    /**
+     * 메모리 상위 K 매칭 (user_recipe_match 를 사용하지 않음)
+     * 필터된 레시피를 조회 시점 계산 결과 또는 압축 저장된 결과로 채점하고, 요청 페이지 끝(offset + limit)까지만
+     * 크기 제한 힙에 유지한 뒤 요청 구간만 반환
+     * 유통기한 순위 모드는 유통기한 가중 점수 순 (기준일 점수를 캐시해 두고 오늘 배율만 곱하므로 날짜가 바뀌어도 재채점 없음)
+     * @param orderedRecipeIds 필터 적용된 레시피 ID (최신순)
+     * @param afterRecipeId 커서 페이징 시 마지막으로 본 레시피 ID (이 레시피보다 뒤 순위만 대상, 없으면 null)
+     */
+    public List<RankedRecipe> rankTopMatches(Long userId, List<Long> orderedRecipeIds, Long afterRecipeId,
+                                             int offset, int limit) {
+        int k = offset + limit;
+        if (limit <= 0 || orderedRecipeIds.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        int totalCount = recipeIngredientSet.size();
-        if (totalCount == 0) {
-            result.put("matchedCount", 0);
-            result.put("totalCount", 0);
-            result.put("matchPercent", 0.0);
-            result.put("matchedIngredients", "");
-            return result;
+        MatchScoreSource matches = getMatchSource(userId);
+        Comparator<RankedRecipe> rankOrder = RankedRecipe.RANK_ORDER;
+        ExpiryScores expiryScores = null;
+        double expiryMultiplier = 0.0;
+        if (isExpiryRanking() && userId != null) {
+            LocalDate today = LocalDate.now();
+            expiryScores = expiryScoreCache.getOrCompute(recipeCatalogService.getSnapshot(),
+                    ingredientRepository.getList(userId), today);
+            expiryMultiplier = expiryScores.multiplier(today);
+            rankOrder = RankedRecipe.EXPIRY_ORDER;
         }
 
-        int matchedCount = 0;
-        List<String> matchedIngredients = new ArrayList<>();
+        // 커서 레시피의 현재 순위 (필터 결과에서 빠졌으면 처음부터)
+        RankedRecipe after = null;
+        int afterOrder = afterRecipeId != null ? orderedRecipeIds.indexOf(afterRecipeId) : -1;
+        if (afterOrder >= 0) {
+            after = new RankedRecipe(afterRecipeId, afterOrder, matches.scoreOf(afterRecipeId), null,
+                    expiryScoreOf(expiryScores, afterRecipeId, expiryMultiplier));
+        }
 
-        for (String recipeIngredient : recipeIngredientSet) {
-            // 완전 일치
-            if (userIngredientNames.contains(recipeIngredient)) {
-                matchedCount++;
-                matchedIngredients.add(recipeIngredient);
+        // 순위가 가장 낮은 항목이 맨 위에 오는 크기 K 힙
+        PriorityQueue<RankedRecipe> heap = new PriorityQueue<>(k + 1, rankOrder.reversed());
+        for (int order = 0; order < orderedRecipeIds.size(); order++) {
+            Long recipeId = orderedRecipeIds.get(order);
+            RankedRecipe ranked = new RankedRecipe(recipeId, order, matches.scoreOf(recipeId), null,
+                    expiryScoreOf(expiryScores, recipeId, expiryMultiplier));
+            if (after != null && rankOrder.compare(ranked, after) <= 0) {
                 continue;
             }
+            if (heap.size() < k) {
+                heap.add(ranked);
+            } else if (rankOrder.compare(ranked, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(ranked);
+            }
+        }
 
-            // 부분 일치
-            for (String userIngredient : userIngredientNames) {
-                if (recipeIngredient.contains(userIngredient) || userIngredient.contains(recipeIngredient)) {
-                    matchedCount++;
-                    matchedIngredients.add(userIngredient + "(부분)");
-                    break;
-                }
+        List<RankedRecipe> top = new ArrayList<>(heap);
+        top.sort(rankOrder);
+        if (offset >= top.size()) {
+            return Collections.emptyList();
+        }
+
+        // 요청 페이지에 포함된 레시피만 매칭 재료 설명 생성
+        List<RankedRecipe> pageItems = new ArrayList<>(top.size() - offset);
+        for (RankedRecipe ranked : top.subList(offset, top.size())) {
+            pageItems.add(new RankedRecipe(ranked.recipeId(), ranked.order(), ranked.score(),
+                    matches.matchedIngredientsOf(ranked.recipeId()), ranked.expiryScore()));
+        }
+        return pageItems;
+    }
+
+    // 오늘 기준 유통기한 가중 점수 (기준일 점수 * 오늘 배율)
+    private static double expiryScoreOf(ExpiryScores expiryScores, Long recipeId, double multiplier) {
+        return expiryScores != null ? expiryScores.baseScoreOf(recipeId) * multiplier : 0.0;
+    }
+
+    /**
+     * 부족한 재료가 maxMissing 개 이하인 레시피 (지금 바로 / 재료 몇 개만 더 있으면 만들 수 있는 레시피)
+     * 현재 냉장고 비트셋으로 카탈로그 전체를 메모리에서 채점하여 부족 수 = 전체 재료 수 - 일치 재료 수 로 거르고,
+     * 정렬된 상위 limit 건만 부족 재료명을 만듦 (재료가 겹치지 않아도 전체 재료 수가 maxMissing 이하면 포함)
+     */
+    public List<CookableRecipe> findCookableRecipes(Long userId, int maxMissing, int limit) {
+        if (userId == null || limit <= 0 || maxMissing < 0) {
+            return Collections.emptyList();
+        }
+        long startTime = System.currentTimeMillis();
+
+        RecipeCatalogSnapshot catalog = recipeCatalogService.getSnapshot();
+        FridgeVector fridge = FridgeVector.encode(ingredientVocabulary, getUserIngredientNames(userId));
+        BitSet allRecipes = new BitSet(catalog.size());
+        allRecipes.set(0, catalog.size());
+
+        List<CookableRecipe> cookable = matchScorer.scoreCandidates(catalog, fridge.getMatchBits(), allRecipes,
+                score -> MatchKernel.totalCount(score) > 0
+                        && MatchKernel.totalCount(score) - MatchKernel.matchedCount(score) <= maxMissing,
+                (recipe, score) -> new CookableRecipe(recipe.id(), score, null, null));
+        cookable.sort(CookableRecipe.COOKABLE_ORDER);
+
+        List<CookableRecipe> page = new ArrayList<>(Math.min(limit, cookable.size()));
+        for (CookableRecipe candidate : cookable.subList(0, Math.min(limit, cookable.size()))) {
+            int[] ingredientIds = catalog.getRecipe(candidate.recipeId()).ingredientIds();
+            page.add(new CookableRecipe(candidate.recipeId(), candidate.score(),
+                    fridge.describeMatches(ingredientIds, ingredientVocabulary),
+                    fridge.missingIngredients(ingredientIds, ingredientVocabulary)));
+        }
+
+        log.debug("사용자 {} 부족 재료 {}개 이하 레시피 조회 - {}ms 소요, 레시피 {}개 중 {}건",
+                userId, maxMissing, (System.currentTimeMillis() - startTime), catalog.size(), cookable.size());
+        return page;
+    }
+
+    /**
+     * 사용자의 레시피별 매칭 결과
+     * 조회 시점 매칭 모드: 현재 냉장고로 계산 (재료 구성이 같은 냉장고는 지문 캐시의 결과를 함께 사용)
+     * 압축 저장 모드: user_match_blob 한 행을 풀어서 사용
+     */
+    public MatchScoreSource getMatchSource(Long userId) {
+        if (userId == null) {
+            return StoredMatchSet.EMPTY;
+        }
+        if (isBlobStorage()) {
+            return MatchBlobCodec.decode(matchRepository.findMatchBlob(userId));
+        }
+        return fridgeMatchCache.getOrCompute(recipeCatalogService.getSnapshot(), getUserIngredientNames(userId));
+    }
+
+    /**
+     * 사용자의 활성 식재료명 목록 조회
+     */
+    private List<String> getUserIngredientNames(Long userId) {
+        return ingredientRepository.getList(userId).stream()
+                .map(IngredientDTO::getIngredientName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 냉장고 재료명 -> 중복 없는 대표 재료명 (DB 집계 매칭에서 재료 사전과 조인할 이름)
+     */
+    private List<String> canonicalNames(Collection<String> ingredientNames) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : ingredientNames) {
+            String normalized = ingredientVocabulary.normalize(name);
+            if (!normalized.isEmpty()) {
+                names.add(normalized);
             }
         }
+        return new ArrayList<>(names);
+    }
 
-        double matchPercent = totalCount > 0 ? (matchedCount * 100.0 / totalCount) : 0;
+    /**
+     * 매칭 결과 -> user_recipe_match 저장용 데이터 변환 (매칭된 레시피만 호출됨)
+     */
+    private Map<String, Object> toMatchData(Long userId, long generation, CatalogRecipe recipe, long score,
+                                            String matchedIngredients) {
+        Map<String, Object> matchData = new HashMap<>();
+        matchData.put("userId", userId);
+        matchData.put("recipeId", recipe.id());
+        matchData.put("generation", generation);
+        matchData.put("matchedCount", MatchKernel.matchedCount(score));
+        matchData.put("totalCount", MatchKernel.totalCount(score));
+        matchData.put("matchPercent", MatchKernel.matchPercent(score));
+        matchData.put("matchedIngredients", matchedIngredients);
+        return matchData;
+    }
 
-        result.put("matchedCount", matchedCount);
-        result.put("totalCount", totalCount);
-        result.put("matchPercent", Math.round(matchPercent * 100.0) / 100.0);
-        result.put("matchedIngredients", String.join(", ", matchedIngredients));
+    /**
+     * 사용자의 매칭 점수가 최신 냉장고 기준으로 계산되어 있는지 확인 (메모리 캐시, 매칭 행이 0건이어도 최신일 수 있음)
+     */
+    public boolean isMatchFresh(Long userId) {
+        return matchVersionTracker.isFresh(userId);
+    }
 
-        return result;
+    /**
+     * 매칭 결과가 한 번이라도 공개되었는지 확인
+     */
+    public boolean hasMatchVersion(Long userId) {
+        return matchVersionTracker.hasMatchVersion(userId);
     }
 }
@@ -2,6 +2,7 @@ package com.example.demo.TEST_001.service;
 
 import com.example.demo.TEST_001.dto.IngredientDTO;
 import com.example.demo.TEST_001.dto.IngredientItemDTO;
+import com.example.demo.TEST_001.dto.RecipeCursorDTO;
 import com.example.demo.TEST_001.dto.RecipeDTO;
 import com.example.demo.TEST_001.dto.RecipeStepDTO;
 import com.example.demo.TEST_001.dto.UserRecipeDTO;
@@ -30,7 +31,12 @@ public class RecipeService {
     private final IngredientRepository ingredientRepository;
     private final UserRecipeRepository userRecipeRepository;
     private final UserRecipeMatchRepository userRecipeMatchRepository;
+    private final MatchRecomputeCoordinator matchRecomputeCoordinator;
     private final RecipeMatchService recipeMatchService;
+    private final RecipeCatalogService recipeCatalogService;
+    private final IngredientVocabulary ingredientVocabulary;
+    private final RecipeIngredientService recipeIngredientService;
+    private final MatchRebuildService matchRebuildService;
     private final SqlSessionTemplate sql;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -51,10 +57,8 @@ public class RecipeService {
 
         try {
             // 1. 매칭 점수가 계산되어 있지 않으면 계산 (최초 1회만)
-            if (!recipeMatchService.hasMatchScores(userId)) {
-                log.info("사용자 {} 매칭 점수 최초 계산 시작", userId);
-                recipeMatchService.recalculateMatchScores(userId);
-            }
+            // 동시에 들어온 요청은 진행 중인 계산 하나에 합류
+            matchRecomputeCoordinator.ensureMatchScores(userId);
 
             // 2. 페이징 파라미터 계산
             int offset = (page - 1) * size;
@@ -98,11 +102,9 @@ public class RecipeService {
             }
 
             // 사용자 식재료 기반 매칭 정보 추가
-            List<IngredientDTO> userIngredients = ingredientRepository.getList(userId);
-            Set<String> userIngredientNames = userIngredients.stream()
+            List<String> userIngredientNames = ingredientRepository.getList(userId).stream()
                     .map(IngredientDTO::getIngredientName)
-                    .map(String::trim)
-                    .collect(Collectors.toSet());
+                    .collect(Collectors.toList());
 
             calculateMatchScoreForUserRecipe(recipe, userIngredientNames);
 
@@ -144,6 +146,7 @@ public class RecipeService {
                     break;
                 }
 
+                List<UserRecipeDTO> savedRecipes = new ArrayList<>();
                 for (RecipeDTO apiRecipe : recipes) {
                     // 중복 체크
                     if (userRecipeRepository.existsByRcpSeq(apiRecipe.getRcpSeq())) {
@@ -151,11 +154,17 @@ public class RecipeService {
                     }
 
                     // RecipeDTO -> UserRecipeDTO 변환 후 저장
-                    UserRecipeDTO userRecipe = convertToUserRecipeDTO(apiRecipe);
-                    userRecipeRepository.saveApiRecipe(userRecipe);
-                    totalSaved++;
+                    savedRecipes.add(convertToUserRecipeDTO(apiRecipe));
                 }
 
+                // 페이지 단위로 한 번에 저장 (생성된 id 는 저장 후 채워짐)
+                userRecipeRepository.saveApiRecipes(savedRecipes);
+                totalSaved += savedRecipes.size();
+
+                // 카탈로그 스냅샷 / 레시피 재료 테이블은 배치 단위로 한 번만 갱신
+                recipeCatalogService.refreshRecipes(savedRecipes);
+                recipeIngredientService.replaceIngredients(savedRecipes);
+
                 log.info("{} 개 저장 완료 (총 {}개)", recipes.size(), totalSaved);
 
                 // 다음 배치
@@ -167,6 +176,11 @@ public class RecipeService {
 
             log.info("API 레시피 동기화 완료. 총 {}개 저장됨.", totalSaved);
 
+            // 새 레시피가 반영되도록 기존 사용자 매칭 전체 재계산 (백그라운드, 체크포인트 기반)
+            if (totalSaved > 0) {
+                matchRebuildService.startRebuild("api-sync");
+            }
+
         } catch (Exception e) {
             log.error("API 레시피 동기화 중 오류 발생", e);
         }
@@ -367,33 +381,28 @@ public class RecipeService {
     /**
      * 레시피와 사용자 식재료 매칭 점수 계산 (UserRecipeDTO용) - 성능 최적화 버전
      */
-    private void calculateMatchScoreForUserRecipe(UserRecipeDTO recipe, Set<String> userIngredientNames) {
-        Set<String> recipeIngredientSet = new HashSet<>();
+    private void calculateMatchScoreForUserRecipe(UserRecipeDTO recipe, Collection<String> userIngredientNames) {
+        // 1. 카탈로그 스냅샷에 미리 파싱된 재료가 있으면 사용 (성능 최적화)
+        Set<String> recipeIngredientSet = recipeCatalogService.getSnapshot().getIngredientNames(recipe.getId());
 
-        // 1. 미리 파싱된 JSON이 있으면 사용 (성능 최적화)
-        String parsedIngredients = recipe.getParsedIngredients();
-        if (parsedIngredients != null && !parsedIngredients.isEmpty() && !parsedIngredients.equals("[]")) {
-            try {
-                // JSON 배열 파싱
-                JsonNode jsonArray = objectMapper.readTree(parsedIngredients);
-                if (jsonArray.isArray()) {
-                    for (JsonNode node : jsonArray) {
-                        String ingredient = node.asText().trim();
-                        if (!ingredient.isEmpty()) {
-                            recipeIngredientSet.add(ingredient);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("parsedIngredients JSON 파싱 실패, rcpPartsDtls 사용: {}", e.getMessage());
-                // JSON 파싱 실패시 기존 방식으로 폴백
-                parseRcpPartsDtls(recipe.getRcpPartsDtls(), recipeIngredientSet);
-            }
-        } else {
-            // 2. 파싱된 데이터가 없으면 기존 방식 사용
+        // 2. 파싱된 데이터가 없으면 기존 방식 사용
+        if (recipeIngredientSet.isEmpty()) {
+            recipeIngredientSet = new HashSet<>();
             parseRcpPartsDtls(recipe.getRcpPartsDtls(), recipeIngredientSet);
         }
 
+        scoreIngredientMatch(recipe, recipeIngredientSet, userIngredientNames, ingredientVocabulary);
+    }
+
+    /**
+     * 레시피 재료와 냉장고 재료의 매칭 점수 (완전 일치 10점, 부분 일치 3점)
+     * 목록/요리 가능 점수와 같도록 양쪽 모두 대표 재료명으로 정규화한 뒤 비교 (계란 = 달걀)
+     */
+    static void scoreIngredientMatch(UserRecipeDTO recipe, Collection<String> recipeIngredients,
+                                     Collection<String> userIngredients, IngredientVocabulary vocabulary) {
+        Set<String> recipeIngredientSet = normalizeAll(recipeIngredients, vocabulary);
+        Set<String> userIngredientNames = normalizeAll(userIngredients, vocabulary);
+
         if (recipeIngredientSet.isEmpty()) {
             recipe.setMatchScore(0);
             recipe.setMatchedIngredientCount(0);
@@ -432,6 +441,18 @@ public class RecipeService {
         recipe.setMatchedIngredients(String.join(", ", matchedIngredients));
     }
 
+    // 재료명 -> 중복 없는 대표 재료명 (입력 순서 유지, 빈 이름 제외)
+    private static Set<String> normalizeAll(Collection<String> names, IngredientVocabulary vocabulary) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String name : names) {
+            String canonical = vocabulary.normalize(name);
+            if (!canonical.isEmpty()) {
+                normalized.add(canonical);
+            }
+        }
+        return normalized;
+    }
+
     /**
      * rcpPartsDtls 문자열을 파싱하여 재료 Set에 추가 (폴백용)
      */
@@ -463,30 +484,35 @@ public class RecipeService {
             String searchRecipeName, String searchIngredient, String searchAuthor,
             int page, int size) {
 
+        // 페이징 파라미터 계산
+        int offset = (page - 1) * size;
+
+        // 조회 시점 매칭 / 압축 저장 모드: user_recipe_match 없이 메모리에서 상위 K 계산
+        if (recipeMatchService.isInMemoryRanking()) {
+            return getIntegratedRecipeListOnDemand(userId, source, rcpWay2, rcpPat2,
+                    searchRecipeName, searchIngredient, searchAuthor, offset, null, size);
+        }
+
         Map<String, Object> result = new HashMap<>();
 
         try {
-            // 1. 매칭 점수가 계산되어 있지 않으면 계산 (최초 1회만)
-            if (userId != null && !recipeMatchService.hasMatchScores(userId)) {
-                log.info("사용자 {} 매칭 점수 최초 계산 시작", userId);
-                recipeMatchService.recalculateMatchScores(userId);
-            }
-
-            // 2. 페이징 파라미터 계산
-            int offset = (page - 1) * size;
+            // 1. 매칭 점수가 최신이 아니면 갱신
+            // 이전 결과가 있으면 기다리지 않고 이전 결과로 응답 (refreshing), 없으면 계산에 합류하여 대기
+            boolean refreshing = userId != null && matchRecomputeCoordinator.ensureMatchScoresOrRefresh(userId);
+            result.put("refreshing", refreshing);
 
-            // 3. DB에서 정렬 + 페이징된 결과 바로 조회
+            // 2. DB에서 정렬 + 페이징된 결과 바로 조회 (다음 페이지 유무 확인용으로 1건 더)
             List<UserRecipeDTO> recipes = userRecipeMatchRepository.findIntegratedRecipesWithMatch(
                     userId, source, rcpWay2, rcpPat2,
                     searchRecipeName, searchIngredient, searchAuthor,
-                    size, offset);
+                    size + 1, offset);
 
-            // 4. 전체 개수 조회 (필터 적용)
+            // 3. 전체 개수 조회 (필터 적용)
             int totalCount = userRecipeMatchRepository.countIntegratedRecipesFiltered(
                     source, rcpWay2, rcpPat2,
                     searchRecipeName, searchIngredient, searchAuthor);
 
-            result.put("recipes", recipes);
+            result.put("recipes", trimToPage(recipes, size, result));
             result.put("totalCount", totalCount);
 
         } catch (Exception e) {
@@ -498,6 +524,175 @@ public class RecipeService {
         return result;
     }
 
+    /**
+     * 통합 레시피 목록 커서 조회 (키셋 페이징)
+     * 앞 페이지를 건너뛰며 읽지 않고 커서 이후 행부터 조회
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param includeTotal false 면 전체 개수 조회를 생략하고 hasNext 만 제공
+     */
+    public Map<String, Object> getIntegratedRecipeListByCursor(
+            Long userId, String source, String rcpWay2, String rcpPat2,
+            String searchRecipeName, String searchIngredient, String searchAuthor,
+            String cursor, int size, boolean includeTotal) {
+
+        RecipeCursorDTO after = RecipeCursorDTO.decode(cursor);
+
+        // 조회 시점 매칭 / 압축 저장 모드는 필터 결과 크기로 개수를 함께 제공
+        if (recipeMatchService.isInMemoryRanking()) {
+            return getIntegratedRecipeListOnDemand(userId, source, rcpWay2, rcpPat2,
+                    searchRecipeName, searchIngredient, searchAuthor, 0, after != null ? after.getId() : null, size);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+
+        try {
+            boolean refreshing = userId != null && matchRecomputeCoordinator.ensureMatchScoresOrRefresh(userId);
+            result.put("refreshing", refreshing);
+
+            List<UserRecipeDTO> recipes = userRecipeMatchRepository.findIntegratedRecipesWithMatchAfter(
+                    userId, source, rcpWay2, rcpPat2,
+                    searchRecipeName, searchIngredient, searchAuthor,
+                    after, size + 1);
+            result.put("recipes", trimToPage(recipes, size, result));
+
+            if (includeTotal) {
+                result.put("totalCount", userRecipeMatchRepository.countIntegratedRecipesFiltered(
+                        source, rcpWay2, rcpPat2,
+                        searchRecipeName, searchIngredient, searchAuthor));
+            }
+
+        } catch (Exception e) {
+            log.error("통합 레시피 커서 조회 중 오류 발생", e);
+            result.put("recipes", new ArrayList<>());
+            result.put("hasNext", false);
+            if (includeTotal) {
+                result.put("totalCount", 0);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 통합 레시피 목록 조회 - 조회 시점 매칭 / 압축 저장 모드
+     * 필터된 레시피 ID만 DB에서 가져와 메모리에서 채점/정렬하고, 요청 페이지의 레시피만 상세 조회
+     */
+    private Map<String, Object> getIntegratedRecipeListOnDemand(
+            Long userId, String source, String rcpWay2, String rcpPat2,
+            String searchRecipeName, String searchIngredient, String searchAuthor,
+            int offset, Long afterRecipeId, int size) {
+
+        Map<String, Object> result = new HashMap<>();
+
+        try {
+            // 압축 저장 모드는 저장된 결과가 최신이 아니면 갱신 (이전 결과가 있으면 그대로 응답)
+            if (recipeMatchService.isBlobStorage()) {
+                boolean refreshing = userId != null && matchRecomputeCoordinator.ensureMatchScoresOrRefresh(userId);
+                result.put("refreshing", refreshing);
+            }
+
+            // 1. 필터 적용된 레시피 ID (최신순) - 개수는 이 목록 크기로 대신함
+            List<Long> filteredIds = userRecipeMatchRepository.findIntegratedRecipeIdsFiltered(
+                    source, rcpWay2, rcpPat2, searchRecipeName, searchIngredient, searchAuthor);
+
+            // 2. 현재 냉장고 기준 상위 K 중 요청 페이지 구간만 선택 (다음 페이지 유무 확인용으로 1건 더)
+            List<RankedRecipe> ranked = recipeMatchService.rankTopMatches(userId, filteredIds, afterRecipeId, offset, size + 1);
+
+            // 3. 선택된 레시피만 조회 후 순위 순서대로 매칭 정보 채움
+            Map<Long, UserRecipeDTO> recipeMap = new HashMap<>();
+            for (UserRecipeDTO recipe : userRecipeMatchRepository.findIntegratedRecipesByIds(
+                    ranked.stream().map(RankedRecipe::recipeId).collect(Collectors.toList()))) {
+                recipeMap.put(recipe.getId(), recipe);
+            }
+
+            List<UserRecipeDTO> recipes = new ArrayList<>(ranked.size());
+            for (RankedRecipe rankedRecipe : ranked) {
+                UserRecipeDTO recipe = recipeMap.get(rankedRecipe.recipeId());
+                if (recipe == null) {
+                    continue;
+                }
+                applyMatch(recipe, rankedRecipe.score(), rankedRecipe.matchedIngredients());
+                recipe.setExpiryScore(Math.round(rankedRecipe.expiryScore() * 1000.0) / 1000.0);
+                recipes.add(recipe);
+            }
+
+            result.put("recipes", trimToPage(recipes, size, result));
+            result.put("totalCount", filteredIds.size());
+
+        } catch (Exception e) {
+            log.error("통합 레시피 조회 중 오류 발생 (조회 시점 매칭)", e);
+            result.put("recipes", new ArrayList<>());
+            result.put("totalCount", 0);
+        }
+
+        return result;
+    }
+
+    /**
+     * 부족한 재료가 maxMissing 개 이하인 레시피 조회 (부족 재료 적은 순)
+     * 매칭 점수 테이블과 무관하게 현재 냉장고 기준으로 메모리에서 계산
+     */
+    public Map<String, Object> getCookableRecipes(Long userId, int maxMissing, int size) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("maxMissing", maxMissing);
+
+        try {
+            List<CookableRecipe> cookable = recipeMatchService.findCookableRecipes(userId, maxMissing, size);
+
+            Map<Long, UserRecipeDTO> recipeMap = new HashMap<>();
+            for (UserRecipeDTO recipe : userRecipeMatchRepository.findIntegratedRecipesByIds(
+                    cookable.stream().map(CookableRecipe::recipeId).collect(Collectors.toList()))) {
+                recipeMap.put(recipe.getId(), recipe);
+            }
+
+            List<UserRecipeDTO> recipes = new ArrayList<>(cookable.size());
+            for (CookableRecipe item : cookable) {
+                UserRecipeDTO recipe = recipeMap.get(item.recipeId());
+                if (recipe == null) {
+                    continue;
+                }
+                recipe.setTotalIngredientCount(MatchKernel.totalCount(item.score()));
+                applyMatch(recipe, item.score(), item.matchedIngredients());
+                recipe.setMissingIngredients(item.missingIngredients());
+                recipes.add(recipe);
+            }
+            result.put("recipes", recipes);
+
+        } catch (Exception e) {
+            log.error("부족 재료 기준 레시피 조회 중 오류 발생", e);
+            result.put("recipes", new ArrayList<>());
+        }
+
+        return result;
+    }
+
+    /**
+     * 메모리에서 계산한 매칭 점수를 레시피에 채움 (매칭되지 않았으면 그대로)
+     */
+    private void applyMatch(UserRecipeDTO recipe, long score, String matchedIngredients) {
+        if (MatchKernel.matchedCount(score) > 0) {
+            recipe.setMatchedIngredientCount(MatchKernel.matchedCount(score));
+            recipe.setTotalIngredientCount(MatchKernel.totalCount(score));
+            recipe.setMatchScore(MatchKernel.matchPercent(score));
+            recipe.setMatchedIngredients(matchedIngredients);
+        }
+    }
+
+    /**
+     * limit + 1 건 조회 결과에서 요청 페이지만 남기고 hasNext / nextCursor 기록
+     */
+    private List<UserRecipeDTO> trimToPage(List<UserRecipeDTO> recipes, int size, Map<String, Object> result) {
+        boolean hasNext = recipes.size() > size;
+        List<UserRecipeDTO> page = hasNext ? new ArrayList<>(recipes.subList(0, size)) : recipes;
+        result.put("hasNext", hasNext);
+        if (hasNext) {
+            UserRecipeDTO last = page.get(page.size() - 1);
+            result.put("nextCursor", RecipeCursorDTO.of(last.getMatchScore(), last.getMatchedIngredientCount(),
+                    last.getCreatedAt(), last.getId()).encode());
+        }
+        return page;
+    }
+
     /**
      * 통합 레시피 상세 조회 (ID 기반)
      */
@@ -513,6 +708,12 @@ public class RecipeService {
                 parseJsonFields(recipe);
             }
 
+            // 매칭 테이블을 쓰지 않는 모드는 메모리 결과로 매칭 정보 채움
+            if (userId != null && recipeMatchService.isInMemoryRanking()) {
+                MatchScoreSource matches = recipeMatchService.getMatchSource(userId);
+                applyMatch(recipe, matches.scoreOf(id), matches.matchedIngredientsOf(id));
+            }
+
             // 조회수 증가
             userRecipeRepository.incrementViewCount(id);
 
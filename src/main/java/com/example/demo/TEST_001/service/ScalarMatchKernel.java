@@ -0,0 +1,20 @@
+package com.example.demo.TEST_001.service;
+
+/**
+ * 레시피마다 재료 ID 를 하나씩 비트셋에서 확인하는 기본 커널
+ */
+final class ScalarMatchKernel implements MatchScoringKernel {
+
+    @Override
+    public void scoreRange(RecipeCatalogSnapshot catalog, long[] matchBits, int[] positions, int from, int to,
+                           long[] scores) {
+        for (int i = from; i < to; i++) {
+            scores[i - from] = MatchKernel.score(catalog.getRecipeAt(positions[i]).ingredientIds(), matchBits);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.List;
+
+/**
+ * 압축 저장 형식의 매칭 결과 1건
+ * @param recipeId user_recipe.id
+ * @param matchedCount 매칭된 재료 수
+ * @param totalCount 레시피 전체 재료 수
+ * @param matched 매칭된 재료 (완전/부분 일치)
+ */
+public record StoredMatch(long recipeId, int matchedCount, int totalCount, List<FridgeVector.MatchedIngredient> matched) {
+
+    public long score() {
+        return MatchKernel.pack(matchedCount, totalCount);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.TEST_001.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 압축 저장된 사용자 매칭 결과를 풀어 놓은 것 (레시피 ID 오름차순 배열)
+ * 매칭 재료는 결과마다 가진 재료명 사전의 번호로 보관하고, 표시 문자열은 필요할 때 만듦
+ */
+public final class StoredMatchSet implements MatchScoreSource {
+
+    public static final StoredMatchSet EMPTY = new StoredMatchSet(new long[0], new int[0], new int[0],
+            new int[0][], new String[0]);
+
+    private final long[] recipeIds;         // 오름차순
+    private final int[] matchedCounts;
+    private final int[] totalCounts;
+    private final int[][] matchedRefs;      // 재료명 사전 번호 << 1 | 부분 일치 여부
+    private final String[] dictionary;      // 재료명 사전
+
+    StoredMatchSet(long[] recipeIds, int[] matchedCounts, int[] totalCounts, int[][] matchedRefs, String[] dictionary) {
+        this.recipeIds = recipeIds;
+        this.matchedCounts = matchedCounts;
+        this.totalCounts = totalCounts;
+        this.matchedRefs = matchedRefs;
+        this.dictionary = dictionary;
+    }
+
+    public int size() {
+        return recipeIds.length;
+    }
+
+    @Override
+    public long scoreOf(Long recipeId) {
+        int index = indexOf(recipeId);
+        return index >= 0 ? MatchKernel.pack(matchedCounts[index], totalCounts[index]) : 0L;
+    }
+
+    @Override
+    public String matchedIngredientsOf(Long recipeId) {
+        int index = indexOf(recipeId);
+        return index >= 0 ? FridgeVector.describe(matchedAt(index)) : null;
+    }
+
+    /**
+     * 전체 결과 (일부만 바꿔 다시 저장할 때 사용)
+     */
+    public List<StoredMatch> toList() {
+        List<StoredMatch> matches = new ArrayList<>(recipeIds.length);
+        for (int i = 0; i < recipeIds.length; i++) {
+            matches.add(new StoredMatch(recipeIds[i], matchedCounts[i], totalCounts[i], matchedAt(i)));
+        }
+        return matches;
+    }
+
+    private List<FridgeVector.MatchedIngredient> matchedAt(int index) {
+        int[] refs = matchedRefs[index];
+        List<FridgeVector.MatchedIngredient> matched = new ArrayList<>(refs.length);
+        for (int ref : refs) {
+            matched.add(new FridgeVector.MatchedIngredient(dictionary[ref >>> 1], (ref & 1) != 0));
+        }
+        return matched;
+    }
+
+    private int indexOf(Long recipeId) {
+        return recipeId != null ? Arrays.binarySearch(recipeIds, recipeId) : -1;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.TEST_001.service;
 
 import com.example.demo.TEST_001.dto.UserRecipeDTO;
 import com.example.demo.TEST_001.dto.IngredientItemDTO;
+import com.example.demo.TEST_001.dto.RecipeCursorDTO;
 import com.example.demo.TEST_001.dto.RecipeStepDTO;
 import com.example.demo.TEST_001.repository.UserRecipeRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -14,8 +15,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -23,6 +25,9 @@ import java.util.List;
 public class UserRecipeService {
     private final UserRecipeRepository userRecipeRepository;
     private final FileUploadService fileUploadService;
+    private final RecipeCatalogService recipeCatalogService;
+    private final RecipeIngredientService recipeIngredientService;
+    private final MatchRecomputeCoordinator matchRecomputeCoordinator;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     // 레시피 생성
@@ -48,6 +53,10 @@ public class UserRecipeService {
         }
 
         userRecipeRepository.save(recipeDTO);
+        // 재료 행은 같은 트랜잭션에 저장하고, 카탈로그 스냅샷과 다른 사용자 전파는 커밋 이후에 반영
+        recipeIngredientService.replaceIngredients(List.of(recipeDTO));
+        recipeCatalogService.refreshRecipe(recipeDTO);
+        matchRecomputeCoordinator.scheduleRecipeChange(recipeDTO.getId(), Collections.emptySet());
         return recipeDTO;
     }
 
@@ -98,14 +107,32 @@ public class UserRecipeService {
         return userRecipeRepository.findAll(search, limit, offset);
     }
 
-    // 사용자별 레시피 목록 조회
-    public List<UserRecipeDTO> getMyRecipes(Long userId) {
-        return userRecipeRepository.findByUserId(userId);
+    // 사용자별 레시피 목록 조회 (커서 페이징, 최신순)
+    public Map<String, Object> getMyRecipes(Long userId, String cursor, int size) {
+        List<UserRecipeDTO> recipes = userRecipeRepository.findByUserId(userId, RecipeCursorDTO.decode(cursor), size + 1);
+        return toCursorPage(recipes, size, UserRecipeDTO::getCreatedAt);
     }
 
-    // 좋아요한 레시피 목록 조회
-    public List<UserRecipeDTO> getLikedRecipes(Long userId) {
-        return userRecipeRepository.findLikedRecipes(userId);
+    // 좋아요한 레시피 목록 조회 (커서 페이징, 좋아요 최신순)
+    public Map<String, Object> getLikedRecipes(Long userId, String cursor, int size) {
+        List<UserRecipeDTO> recipes = userRecipeRepository.findLikedRecipes(userId, RecipeCursorDTO.decode(cursor), size + 1);
+        return toCursorPage(recipes, size, UserRecipeDTO::getLikedAt);
+    }
+
+    // limit + 1 건 조회 결과 -> 페이지 + 다음 커서 (개수 조회 없이 다음 페이지 유무 판단)
+    private Map<String, Object> toCursorPage(List<UserRecipeDTO> recipes, int size,
+                                             Function<UserRecipeDTO, LocalDateTime> sortTime) {
+        boolean hasNext = recipes.size() > size;
+        List<UserRecipeDTO> page = hasNext ? new ArrayList<>(recipes.subList(0, size)) : recipes;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("recipes", page);
+        result.put("hasNext", hasNext);
+        if (hasNext) {
+            UserRecipeDTO last = page.get(page.size() - 1);
+            result.put("nextCursor", RecipeCursorDTO.of(null, null, sortTime.apply(last), last.getId()).encode());
+        }
+        return result;
     }
 
     // 레시피 수정
@@ -142,7 +169,13 @@ public class UserRecipeService {
         }
 
         recipeDTO.setId(id);
+        // 수정 전 재료 (이전 재료로만 매칭되던 사용자까지 전파 대상에 포함)
+        Set<String> previousIngredientNames = recipeCatalogService.getSnapshot().getIngredientNames(id);
         userRecipeRepository.update(recipeDTO);
+        // 재료 행은 같은 트랜잭션에 저장하고, 카탈로그 스냅샷과 다른 사용자 전파는 커밋 이후에 반영
+        recipeIngredientService.replaceIngredients(List.of(recipeDTO));
+        recipeCatalogService.refreshRecipe(recipeDTO);
+        matchRecomputeCoordinator.scheduleRecipeChange(id, previousIngredientNames);
     }
 
     // 레시피 삭제
@@ -161,6 +194,8 @@ public class UserRecipeService {
 
         // 이미지는 DB에 저장되므로 레시피 삭제 시 자동 삭제됨
         userRecipeRepository.deleteById(id);
+        // 카탈로그 스냅샷에서는 커밋 이후에 제거
+        recipeCatalogService.removeRecipe(id);
     }
 
     // 전체 레시피 수 조회
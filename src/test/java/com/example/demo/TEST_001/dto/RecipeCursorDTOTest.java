@@ -0,0 +1,80 @@
+package com.example.demo.TEST_001.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 키셋 페이징 커서 인코딩/디코딩 (잘못되거나 조작된 커서는 null -> 첫 페이지)
+ */
+class RecipeCursorDTOTest {
+
+    @Test
+    void roundTripKeepsAllKeys() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 17, 13, 45, 30, 123_000_000);
+        RecipeCursorDTO decoded = RecipeCursorDTO.decode(RecipeCursorDTO.of(66.67, 4, createdAt, 1234L).encode());
+
+        assertNotNull(decoded);
+        assertEquals(66.67, decoded.getMatchScore());
+        assertEquals(4, decoded.getMatchedCount());
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(1234L, decoded.getId());
+    }
+
+    @Test
+    void roundTripKeepsNullKeys() {
+        RecipeCursorDTO decoded = RecipeCursorDTO.decode(RecipeCursorDTO.of(null, null, null, 7L).encode());
+
+        assertNotNull(decoded);
+        assertNull(decoded.getMatchScore());
+        assertNull(decoded.getMatchedCount());
+        assertNull(decoded.getCreatedAt());
+        assertEquals(7L, decoded.getId());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String token = RecipeCursorDTO.of(100.0, 12, LocalDateTime.of(2024, 1, 1, 0, 0), Long.MAX_VALUE).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void blankCursorIsFirstPage() {
+        assertNull(RecipeCursorDTO.decode(null));
+        assertNull(RecipeCursorDTO.decode(""));
+        assertNull(RecipeCursorDTO.decode("   "));
+    }
+
+    @Test
+    void malformedCursorIsFirstPage() {
+        assertNull(RecipeCursorDTO.decode("not base64!"));
+        assertNull(RecipeCursorDTO.decode("a+b/c=="));            // URL-safe 가 아닌 Base64
+        assertNull(RecipeCursorDTO.decode(raw("1|2|3")));          // 키 개수 부족
+        assertNull(RecipeCursorDTO.decode(raw("1|2|3|4|5")));      // 키 개수 초과
+        assertNull(RecipeCursorDTO.decode(raw("50.0|3||")));       // 레시피 ID 없음
+    }
+
+    @Test
+    void tamperedCursorIsFirstPage() {
+        assertNull(RecipeCursorDTO.decode(raw("50.0|3||1 OR 1=1")));
+        assertNull(RecipeCursorDTO.decode(raw("abc|3||10")));
+        assertNull(RecipeCursorDTO.decode(raw("50.0|three||10")));
+        assertNull(RecipeCursorDTO.decode(raw("||2024-13-45T99:00|10")));
+        assertNull(RecipeCursorDTO.decode(raw("NaN|3||10")));
+        assertNull(RecipeCursorDTO.decode(raw("Infinity|3||10")));
+        assertNull(RecipeCursorDTO.decode(raw("1e400|3||10")));
+        assertNull(RecipeCursorDTO.decode(raw("|99999999999||10")));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
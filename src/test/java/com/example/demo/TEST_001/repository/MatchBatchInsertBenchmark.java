@@ -0,0 +1,124 @@
+package com.example.demo.TEST_001.repository;
+
+import com.example.demo.TEST_001.dto.UserDTO;
+import com.example.demo.TEST_001.service.CatalogRecipe;
+import com.example.demo.TEST_001.service.RecipeCatalogService;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 매칭 결과 10,000 행 저장 시간 비교 - BATCH 실행기 vs foreach 다중 VALUES
+ * 실제 MySQL(application.yml 의 DB_* 환경 변수) 이 필요하므로 기본 test 에서는 제외 (./gradlew benchmark)
+ * 벤치마크 전용 사용자(match_batch_benchmark)의 공개되지 않은 세대에 저장한 뒤 삭제함
+ */
+@SpringBootTest
+@Tag("benchmark")
+class MatchBatchInsertBenchmark {
+
+    private static final String BENCHMARK_USERNAME = "match_batch_benchmark";
+    private static final int ROWS = 10_000;
+    private static final int FLUSH_SIZE = 500;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+    @Autowired
+    private SqlSessionTemplate sqlSessionTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RecipeCatalogService recipeCatalogService;
+
+    @Test
+    void batchExecutorVersusForeach() {
+        Long userId = benchmarkUserId();
+        List<Long> recipeIds = new ArrayList<>();
+        for (CatalogRecipe recipe : recipeCatalogService.getSnapshot().getRecipes()) {
+            recipeIds.add(recipe.id());
+        }
+        assertTrue(!recipeIds.isEmpty(), "레시피가 없어 벤치마크를 실행할 수 없습니다.");
+
+        UserRecipeMatchRepository batch = new UserRecipeMatchRepository(sqlSessionTemplate,
+                new BatchStatementExecutor(sqlSessionFactory, FLUSH_SIZE, "batch"));
+        UserRecipeMatchRepository foreach = new UserRecipeMatchRepository(sqlSessionTemplate,
+                new BatchStatementExecutor(sqlSessionFactory, FLUSH_SIZE, "foreach"));
+
+        // 워밍업 (문장 준비, 커넥션 풀, JIT)
+        measure(batch, userId, recipeIds);
+        measure(foreach, userId, recipeIds);
+
+        long batchNanos = Long.MAX_VALUE;
+        long foreachNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            batchNanos = Math.min(batchNanos, measure(batch, userId, recipeIds));
+            foreachNanos = Math.min(foreachNanos, measure(foreach, userId, recipeIds));
+        }
+
+        System.out.printf("[benchmark] %,d 행 저장 (최소 %d회 중) - batch(flush %d): %,d ms / foreach(100행): %,d ms%n",
+                ROWS, ROUNDS, FLUSH_SIZE, batchNanos / 1_000_000, foreachNanos / 1_000_000);
+    }
+
+    // ROWS 행을 새 세대들에 저장하는 시간 (저장한 행은 측정 후 삭제)
+    private long measure(UserRecipeMatchRepository repository, Long userId, List<Long> recipeIds) {
+        List<Long> generations = new ArrayList<>();
+        List<Map<String, Object>> rows = new ArrayList<>(ROWS);
+        while (rows.size() < ROWS) {
+            long generation = repository.allocateGeneration(userId);
+            generations.add(generation);
+            for (int i = 0; i < recipeIds.size() && rows.size() < ROWS; i++) {
+                rows.add(row(userId, recipeIds.get(i), generation, rows.size()));
+            }
+        }
+
+        long start = System.nanoTime();
+        repository.batchSave(rows);
+        long elapsed = System.nanoTime() - start;
+
+        int deleted = 0;
+        for (long generation : generations) {
+            deleted += repository.deleteGeneration(userId, generation);
+        }
+        assertEquals(ROWS, deleted);
+        return elapsed;
+    }
+
+    private static Map<String, Object> row(Long userId, Long recipeId, long generation, int seed) {
+        int totalCount = 5 + seed % 10;
+        int matchedCount = seed % (totalCount + 1);
+        Map<String, Object> row = new HashMap<>();
+        row.put("userId", userId);
+        row.put("recipeId", recipeId);
+        row.put("generation", generation);
+        row.put("matchedCount", matchedCount);
+        row.put("totalCount", totalCount);
+        row.put("matchPercent", Math.round(matchedCount * 10000.0 / totalCount) / 100.0);
+        row.put("matchedIngredients", matchedCount > 0 ? "대파, 양파, 마늘(부분)" : "");
+        return row;
+    }
+
+    private Long benchmarkUserId() {
+        UserDTO user = userRepository.findByUsername(BENCHMARK_USERNAME);
+        if (user == null) {
+            user = new UserDTO();
+            user.setUsername(BENCHMARK_USERNAME);
+            user.setPassword("-");
+            user.setName("benchmark");
+            user.setEmailNotificationEnabled(false);
+            userRepository.save(user);
+            user = userRepository.findByUsername(BENCHMARK_USERNAME);
+        }
+        return user.getId();
+    }
+}
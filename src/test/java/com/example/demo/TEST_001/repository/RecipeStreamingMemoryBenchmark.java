@@ -0,0 +1,98 @@
+package com.example.demo.TEST_001.repository;
+
+import com.example.demo.TEST_001.service.RecipeCatalogService;
+import com.example.demo.TEST_001.service.RecipeCatalogSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 카탈로그 스트리밍 조회 중 힙 사용량 확인
+ * streamAllRecipes 는 행 스트리밍으로 한 행씩 받아 오므로, 행을 처리하는 동안 남는 힙이 레시피 수에 따라 늘지 않아야 함
+ * 비교 대상으로 같은 문장을 selectList 로 한 번에 읽어 목록을 들고 있을 때의 힙을 함께 출력
+ * 실제 MySQL(application.yml 의 DB_* 환경 변수) 이 필요하므로 기본 test 에서는 제외 (./gradlew benchmark)
+ */
+@SpringBootTest
+@Tag("benchmark")
+class RecipeStreamingMemoryBenchmark {
+
+    private static final int SAMPLE_EVERY_ROWS = 1_000;
+    private static final long FLAT_TOLERANCE_BYTES = 8L * 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Autowired
+    private UserRecipeMatchRepository matchRepository;
+    @Autowired
+    private SqlSessionTemplate sqlSessionTemplate;
+    @Autowired
+    private RecipeCatalogService recipeCatalogService;
+
+    @Test
+    void streamingKeepsHeapFlat() {
+        long baseline = retainedHeap();
+
+        // 스트리밍: 행을 세기만 하고 버림, 일정 행마다 GC 후 남은 힙 기록
+        List<Long> samples = new ArrayList<>();
+        long[] rows = {0};
+        long[] jsonChars = {0};
+        matchRepository.streamAllRecipes(row -> {
+            Object json = row.get("ingredientsJson");
+            jsonChars[0] += json != null ? json.toString().length() : 0;
+            if (++rows[0] % SAMPLE_EVERY_ROWS == 0) {
+                samples.add(retainedHeap() - baseline);
+            }
+        });
+        long streamingPeak = samples.stream().mapToLong(Long::longValue).max().orElse(0L);
+
+        // 비교: 같은 문장을 목록으로 모두 읽어 들고 있을 때
+        long beforeList = retainedHeap();
+        List<Map<String, Object>> all = sqlSessionTemplate.selectList("userRecipeMatch.streamAllRecipes");
+        long listRetained = retainedHeap() - beforeList;
+        int listRows = all.size();
+        all = null;
+
+        // 스트리밍으로 카탈로그 재구축 (남는 것은 재료 ID 배열 스냅샷뿐)
+        long beforeReload = retainedHeap();
+        long start = System.nanoTime();
+        RecipeCatalogSnapshot snapshot = recipeCatalogService.reload();
+        long reloadMillis = (System.nanoTime() - start) / 1_000_000;
+        long reloadRetained = retainedHeap() - beforeReload;
+
+        System.out.printf("[benchmark] 레시피 %,d행 (재료 JSON %,d자)%n", rows[0], jsonChars[0]);
+        System.out.printf("[benchmark] 스트리밍 중 남은 힙 (%,d행마다): %s%n", SAMPLE_EVERY_ROWS, toMegabytes(samples));
+        System.out.printf("[benchmark] 스트리밍 최대 %.1f MB / selectList %,d행 보유 %.1f MB%n",
+                streamingPeak / 1048576.0, listRows, listRetained / 1048576.0);
+        System.out.printf("[benchmark] reload %,d ms, 스냅샷 레시피 %,d개 보유 %.1f MB%n",
+                reloadMillis, snapshot.size(), reloadRetained / 1048576.0);
+
+        assertTrue(streamingPeak < Math.max(FLAT_TOLERANCE_BYTES, listRetained / 4),
+                "스트리밍 중 힙이 행 수에 따라 늘어납니다: " + toMegabytes(samples));
+    }
+
+    // GC 후 사용 중인 힙 (bytes)
+    private long retainedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static String toMegabytes(List<Long> samples) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < samples.size(); i++) {
+            builder.append(i > 0 ? ", " : "").append(String.format("%.1f", samples.get(i) / 1048576.0));
+        }
+        return builder.append("] MB").toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 냉장고 지문 캐시의 스냅샷 버전 처리
+ */
+class FridgeMatchCacheTest {
+
+    private final IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+    private final FridgeMatchCache cache = new FridgeMatchCache(vocabulary, new ParallelMatchScorer(1, 256, "scalar"), 16);
+
+    @Test
+    void olderSnapshotDoesNotEvictNewerResult() {
+        RecipeCatalogSnapshot older = new RecipeCatalogSnapshot(vocabulary,
+                List.of(new CatalogRecipe(1L, "api", new int[]{vocabulary.intern("대파")})));
+        RecipeCatalogSnapshot newer = older.withRecipes(
+                List.of(new CatalogRecipe(2L, "api", new int[]{vocabulary.intern("대파"), vocabulary.intern("두부")})));
+        List<String> fridge = List.of("대파", "두부");
+
+        FridgeMatchResult newerResult = cache.getOrCompute(newer, fridge);
+        FridgeMatchResult olderResult = cache.getOrCompute(older, fridge);
+
+        // 오래된 스냅샷을 든 호출은 그 스냅샷 기준으로 따로 계산
+        assertSame(older, olderResult.getCatalog());
+        assertEquals(1, olderResult.size());
+        // 더 최신 결과는 캐시에 남아 있음
+        assertSame(newerResult, cache.getOrCompute(newer, fridge));
+        assertEquals(2, newerResult.size());
+    }
+
+    @Test
+    void newerSnapshotReplacesOlderResult() {
+        RecipeCatalogSnapshot older = new RecipeCatalogSnapshot(vocabulary,
+                List.of(new CatalogRecipe(1L, "api", new int[]{vocabulary.intern("대파")})));
+        RecipeCatalogSnapshot newer = older.withoutRecipes(List.of(1L));
+        List<String> fridge = List.of("대파");
+
+        FridgeMatchResult olderResult = cache.getOrCompute(older, fridge);
+        FridgeMatchResult newerResult = cache.getOrCompute(newer, fridge);
+
+        assertEquals(1, olderResult.size());
+        assertSame(newer, newerResult.getCatalog());
+        assertEquals(0, newerResult.size());
+        assertSame(newerResult, cache.getOrCompute(newer, fridge));
+    }
+
+    @Test
+    void snapshotSwapReleasesOlderResults() {
+        RecipeCatalogSnapshot older = new RecipeCatalogSnapshot(vocabulary,
+                List.of(new CatalogRecipe(1L, "api", new int[]{vocabulary.intern("대파")})));
+        cache.getOrCompute(older, List.of("대파"));
+        cache.getOrCompute(older, List.of("두부"));
+        assertEquals(2, cache.getStats().get("size"));
+
+        // 교체 알림만으로 이전 스냅샷 결과를 모두 놓아줌
+        RecipeCatalogSnapshot newer = older.withoutRecipes(List.of(1L));
+        cache.invalidateBefore(newer.getVersion());
+        assertEquals(0, cache.getStats().get("size"));
+        assertEquals(1L, cache.getStats().get("invalidations"));
+
+        // 같은 버전 알림이 다시 와도 새로 쌓인 결과는 유지
+        cache.getOrCompute(newer, List.of("대파"));
+        cache.invalidateBefore(newer.getVersion());
+        assertEquals(1, cache.getStats().get("size"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 사전 조각 색인으로 만든 냉장고 벡터가 사전 전체를 한 재료씩 판정한 결과와 같은지 확인
+ */
+class FridgeVectorTest {
+
+    private static final char[] ALPHABET = {'파', '대', '양', '마', '늘', '고', '추', '기', '돼', '지'};
+
+    @Test
+    void recordsExactAndPartialMatches() {
+        IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+        int garlic = vocabulary.intern("마늘");
+        int pork = vocabulary.intern("돼지고기");
+        int porkNeck = vocabulary.intern("돼지고기 목살");
+        int onion = vocabulary.intern("양파");
+
+        FridgeVector fridge = FridgeVector.encode(vocabulary, List.of("고추", "돼지고기", "마늘"));
+
+        assertEquals(2, fridge.ownerOf(garlic));
+        assertEquals(1, fridge.ownerOf(pork));
+        assertEquals(1, fridge.ownerOf(porkNeck));   // 레시피 재료명이 냉장고 재료명을 포함
+        assertEquals(-1, fridge.ownerOf(onion));
+        assertEquals("마늘, 돼지고기(부분)",   // 부분 일치는 냉장고 재료명으로 표시
+                fridge.describeMatches(new int[]{garlic, porkNeck, onion}, vocabulary));
+    }
+
+    @Test
+    void matchesFullVocabularyScanOnRandomNames() {
+        Random random = new Random(20240615L);
+
+        for (int round = 0; round < 200; round++) {
+            IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+            for (int i = 0; i < 60; i++) {
+                vocabulary.intern(randomName(random, 1 + random.nextInt(5)));
+            }
+            int[] allIds = IntStream.range(0, vocabulary.size()).toArray();
+            List<String> fridgeNames = new ArrayList<>();
+            for (int i = 1 + random.nextInt(8); i > 0; i--) {
+                fridgeNames.add(randomName(random, 1 + random.nextInt(4)));
+            }
+
+            FridgeVector indexed = FridgeVector.encode(vocabulary, fridgeNames);
+            FridgeVector scanned = FridgeVector.encode(vocabulary, fridgeNames, allIds);
+
+            String message = "fridge=" + fridgeNames;
+            assertArrayEquals(scanned.getMatchBits(), indexed.getMatchBits(), message);
+            for (int id : allIds) {
+                assertEquals(scanned.ownerOf(id), indexed.ownerOf(id), message + " id=" + id);
+            }
+            assertEquals(scanned.matchedIngredients(allIds, vocabulary), indexed.matchedIngredients(allIds, vocabulary), message);
+        }
+    }
+
+    @Test
+    void containingIdsAreVerifiedAgainstNames() {
+        IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+        for (String name : List.of("고추", "고추장", "풋고추", "고기", "추가")) {
+            vocabulary.intern(name);
+        }
+
+        for (int id : vocabulary.idsContaining("고추")) {
+            assertTrue(vocabulary.nameOf(id).contains("고추"));
+        }
+        assertEquals(3, vocabulary.idsContaining("고추").length);
+        assertEquals(0, vocabulary.idsContaining("고추가").length);   // 조각은 모두 있지만 포함하는 재료는 없음
+    }
+
+    private static String randomName(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+        return builder.toString();
+    }
+}
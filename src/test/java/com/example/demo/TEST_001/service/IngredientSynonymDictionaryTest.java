@@ -0,0 +1,89 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 재료명 -> 대표 재료명 변환 (classpath:ingredient-synonyms.txt 기준)
+ */
+class IngredientSynonymDictionaryTest {
+
+    private final IngredientSynonymDictionary dictionary = new IngredientSynonymDictionary(IngredientSynonymDictionary.RESOURCE);
+
+    @Test
+    void dictionaryIsLoadedFromClasspath() {
+        assertTrue(dictionary.size() > 0);
+    }
+
+    @Test
+    void variantsMapToCanonicalName() {
+        assertEquals("달걀", dictionary.canonicalize("계란"));
+        assertEquals("소고기", dictionary.canonicalize("쇠고기"));
+        assertEquals("간장", dictionary.canonicalize("진간장"));
+        assertEquals("국간장", dictionary.canonicalize("조선간장"));
+        assertEquals("달걀", dictionary.canonicalize("달걀"));  // 대표 재료명은 그대로
+    }
+
+    @Test
+    void whitespaceIsIgnoredWhenLookingUp() {
+        assertEquals("돼지고기 앞다리살", dictionary.canonicalize("돼지고기 앞다리살"));
+        assertEquals("돼지고기 앞다리살", dictionary.canonicalize("돼지고기앞다리살"));
+        assertEquals("돼지고기 앞다리살", dictionary.canonicalize("  돼지 앞다리살 "));
+        assertEquals("참기름", dictionary.canonicalize("참 기름"));
+        assertEquals("청양고추", dictionary.canonicalize("청양 고추"));
+    }
+
+    @Test
+    void leadingQualifiersAreStripped() {
+        assertEquals("마늘", dictionary.canonicalize("다진 마늘"));
+        assertEquals("양파", dictionary.canonicalize("채썬 양파"));
+        assertEquals("돼지고기 목살", dictionary.canonicalize("냉동 돼지고기 목살"));
+        assertEquals("감자", dictionary.canonicalize("삶은 감자"));          // 사전에 없으면 수식어만 뗀 이름
+        assertEquals("감자", dictionary.canonicalize("국산 삶은 감자"));     // 수식어 여러 개
+    }
+
+    @Test
+    void differentIngredientsAreNotMerged() {
+        // 부위/품종/색이 달라 서로 대신할 수 없는 재료는 각자 그대로
+        assertEquals("닭다리", dictionary.canonicalize("닭다리"));
+        assertEquals("쪽파", dictionary.canonicalize("쪽파"));
+        assertEquals("애호박", dictionary.canonicalize("애호박"));
+        assertEquals("조청", dictionary.canonicalize("조청"));
+        assertEquals("적양파", dictionary.canonicalize("적양파"));
+        assertEquals("홍고추", dictionary.canonicalize("홍고추"));
+        assertEquals("황설탕", dictionary.canonicalize("황설탕"));
+        assertEquals("통후추", dictionary.canonicalize("통후추"));
+        assertEquals("소고기 등심", dictionary.canonicalize("쇠고기 등심"));
+    }
+
+    @Test
+    void qualifierAloneIsKept() {
+        assertEquals("다진", dictionary.canonicalize("다진"));
+        assertEquals("채", dictionary.canonicalize("채"));
+    }
+
+    @Test
+    void unknownNamesOnlyHaveWhitespaceCollapsed() {
+        assertEquals("감자", dictionary.canonicalize("감자"));
+        assertEquals("알배기 배추", dictionary.canonicalize(" 알배기   배추 "));
+        assertEquals("알배기 배추", dictionary.canonicalize("알배기\t배추"));
+    }
+
+    @Test
+    void blankNamesBecomeEmpty() {
+        assertEquals("", dictionary.canonicalize(null));
+        assertEquals("", dictionary.canonicalize(""));
+        assertEquals("", dictionary.canonicalize("   "));
+    }
+
+    @Test
+    void missingResourceGivesPassThroughDictionary() {
+        IngredientSynonymDictionary empty = new IngredientSynonymDictionary("no-such-ingredient-synonyms.txt");
+
+        assertEquals(0, empty.size());
+        assertEquals("계란", empty.canonicalize("계란"));
+        assertEquals("다진 마늘", empty.canonicalize(" 다진  마늘 "));
+    }
+}
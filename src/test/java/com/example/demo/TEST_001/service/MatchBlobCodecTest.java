@@ -0,0 +1,97 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * MatchBlobCodec 인코딩 -> 디코딩 왕복 시 매칭 결과가 그대로 복원되는지 확인
+ */
+class MatchBlobCodecTest {
+
+    private static final String[] NAMES = {"대파", "양파", "마늘", "돼지고기", "달걀", "두부", "간장", "고춧가루", "참기름", "감자"};
+
+    @Test
+    void roundTripRestoresMatches() {
+        List<StoredMatch> matches = List.of(
+                new StoredMatch(42L, 2, 5, List.of(
+                        new FridgeVector.MatchedIngredient("대파", false),
+                        new FridgeVector.MatchedIngredient("돼지고기", true))),
+                new StoredMatch(7L, 1, 3, List.of(new FridgeVector.MatchedIngredient("대파", true))),
+                new StoredMatch(1_000_000_007L, 0, 4, List.of()));
+
+        StoredMatchSet decoded = MatchBlobCodec.decode(MatchBlobCodec.encode(matches));
+
+        assertEquals(3, decoded.size());
+        assertEquals(MatchKernel.pack(2, 5), decoded.scoreOf(42L));
+        assertEquals(MatchKernel.pack(1, 3), decoded.scoreOf(7L));
+        assertEquals(MatchKernel.pack(0, 4), decoded.scoreOf(1_000_000_007L));
+        assertEquals("대파, 돼지고기(부분)", decoded.matchedIngredientsOf(42L));
+        assertEquals("대파(부분)", decoded.matchedIngredientsOf(7L));
+        assertEquals("", decoded.matchedIngredientsOf(1_000_000_007L));
+
+        assertEquals(0L, decoded.scoreOf(8L));
+        assertNull(decoded.matchedIngredientsOf(8L));
+        assertNull(decoded.matchedIngredientsOf(null));
+    }
+
+    @Test
+    void roundTripOnRandomMatchesKeepsEveryField() {
+        Random random = new Random(20240715L);
+
+        for (int round = 0; round < 50; round++) {
+            List<StoredMatch> matches = randomMatches(random, random.nextInt(300));
+
+            List<StoredMatch> expected = new ArrayList<>(matches);
+            expected.sort((a, b) -> Long.compare(a.recipeId(), b.recipeId()));
+            Collections.shuffle(matches, random);
+
+            StoredMatchSet decoded = MatchBlobCodec.decode(MatchBlobCodec.encode(matches));
+
+            assertEquals(expected, decoded.toList());
+        }
+    }
+
+    @Test
+    void emptyInputDecodesToEmptySet() {
+        assertEquals(0, MatchBlobCodec.decode(null).size());
+        assertEquals(0, MatchBlobCodec.decode(new byte[0]).size());
+        assertEquals(0, MatchBlobCodec.decode(MatchBlobCodec.encode(List.of())).size());
+    }
+
+    @Test
+    void corruptedDataIsRejected() {
+        byte[] data = MatchBlobCodec.encode(List.of(
+                new StoredMatch(1L, 1, 2, List.of(new FridgeVector.MatchedIngredient("대파", false)))));
+        byte[] truncated = Arrays.copyOf(data, data.length / 2);
+
+        assertThrows(IllegalStateException.class, () -> MatchBlobCodec.decode(truncated));
+        assertThrows(IllegalStateException.class, () -> MatchBlobCodec.decode(new byte[]{1, 2, 3, 4}));
+    }
+
+    // 레시피 ID 는 서로 다르고, 매칭 재료 수는 매칭 수와 같게 만듦
+    private static List<StoredMatch> randomMatches(Random random, int size) {
+        List<StoredMatch> matches = new ArrayList<>(size);
+        long recipeId = 0;
+        for (int i = 0; i < size; i++) {
+            recipeId += 1 + random.nextInt(random.nextBoolean() ? 3 : 100_000);
+            int totalCount = 1 + random.nextInt(20);
+            int matchedCount = random.nextInt(Math.min(totalCount, NAMES.length) + 1);
+
+            List<FridgeVector.MatchedIngredient> matched = new ArrayList<>(matchedCount);
+            for (int j = 0; j < matchedCount; j++) {
+                matched.add(new FridgeVector.MatchedIngredient(NAMES[random.nextInt(NAMES.length)], random.nextBoolean()));
+            }
+            matches.add(new StoredMatch(recipeId, matchedCount, totalCount, matched));
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * scalar / vector 점수 커널 처리량 비교 (합성 카탈로그, DB 불필요)
+ * 후보 레시피를 ParallelMatchScorer 와 같은 청크 크기로 나눠 scoreRange 를 호출하고 레시피당 시간을 출력
+ * 시간이 오래 걸리므로 기본 test 에서는 제외 (./gradlew benchmark)
+ */
+@Tag("benchmark")
+class MatchScoringKernelBenchmark {
+
+    private static final int RECIPES = 200_000;
+    private static final int VOCABULARY_SIZE = 3_000;
+    private static final int MAX_INGREDIENTS = 20;
+    // 작은 냉장고: 후보가 띄엄띄엄 (연속 구간이 짧음) / 큰 냉장고: 후보 대부분이 연속
+    private static final int[] FRIDGE_SIZES = {40, 400};
+    private static final int CHUNK_SIZE = 256;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 20;
+
+    @Test
+    void scalarVersusVector() {
+        Random random = new Random(20240901L);
+        RecipeCatalogSnapshot catalog = randomCatalog(random);
+        MatchScoringKernel scalar = new ScalarMatchKernel();
+        MatchScoringKernel vector = MatchScoringKernel.create("vector");
+        assertTrue(vector.getName().startsWith("vector"), "vector 커널을 로드하지 못했습니다 (--add-modules jdk.incubator.vector 필요)");
+
+        for (int fridgeSize : FRIDGE_SIZES) {
+            compare(catalog, randomFridge(random, fridgeSize), fridgeSize, scalar, vector);
+        }
+    }
+
+    private static void compare(RecipeCatalogSnapshot catalog, long[] matchBits, int fridgeSize,
+                                MatchScoringKernel scalar, MatchScoringKernel vector) {
+        int[] positions = catalog.getIndex().findCandidates(matchBits).stream().toArray();
+
+        long[] scalarScores = new long[positions.length];
+        long[] vectorScores = new long[positions.length];
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            scoreAll(scalar, catalog, matchBits, positions, scalarScores);
+            scoreAll(vector, catalog, matchBits, positions, vectorScores);
+        }
+        assertArrayEquals(scalarScores, vectorScores);
+
+        long scalarNanos = Long.MAX_VALUE;
+        long vectorNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            scalarNanos = Math.min(scalarNanos, scoreAll(scalar, catalog, matchBits, positions, scalarScores));
+            vectorNanos = Math.min(vectorNanos, scoreAll(vector, catalog, matchBits, positions, vectorScores));
+        }
+
+        System.out.printf("[benchmark] 냉장고 재료 %d개, 레시피 %,d개 중 후보 %,d개 (청크 %d) - scalar: %.2f ms (%.1f ns/레시피) / %s: %.2f ms (%.1f ns/레시피)%n",
+                fridgeSize, RECIPES, positions.length, CHUNK_SIZE,
+                scalarNanos / 1e6, (double) scalarNanos / positions.length,
+                vector.getName(), vectorNanos / 1e6, (double) vectorNanos / positions.length);
+    }
+
+    private static RecipeCatalogSnapshot randomCatalog(Random random) {
+        IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+        for (int id = 0; id < VOCABULARY_SIZE; id++) {
+            vocabulary.intern("재료" + id);
+        }
+        return new RecipeCatalogSnapshot(vocabulary, randomRecipes(random));
+    }
+
+    private static long[] randomFridge(Random random, int fridgeSize) {
+        long[] matchBits = new long[(VOCABULARY_SIZE + 63) >>> 6];
+        for (int i = 0; i < fridgeSize; i++) {
+            int id = random.nextInt(VOCABULARY_SIZE);
+            matchBits[id >>> 6] |= 1L << id;
+        }
+        return matchBits;
+    }
+
+    // 후보 전체를 청크 단위로 계산하는 데 걸린 시간 (ns)
+    private static long scoreAll(MatchScoringKernel kernel, RecipeCatalogSnapshot catalog, long[] matchBits,
+                                 int[] positions, long[] scores) {
+        long[] chunk = new long[CHUNK_SIZE];
+        long start = System.nanoTime();
+        for (int from = 0; from < positions.length; from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, positions.length);
+            kernel.scoreRange(catalog, matchBits, positions, from, to, chunk);
+            System.arraycopy(chunk, 0, scores, from, to - from);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // 재료 3 ~ 20 개, 자주 쓰는 재료(앞쪽 ID)가 더 많이 나오도록 치우친 분포
+    private static List<CatalogRecipe> randomRecipes(Random random) {
+        List<CatalogRecipe> recipes = new ArrayList<>(RECIPES);
+        for (int i = 0; i < RECIPES; i++) {
+            TreeSet<Integer> ids = new TreeSet<>();
+            int size = 3 + random.nextInt(MAX_INGREDIENTS - 2);
+            while (ids.size() < size) {
+                double skew = random.nextDouble();
+                ids.add((int) (skew * skew * VOCABULARY_SIZE));
+            }
+            recipes.add(new CatalogRecipe((long) i + 1, "api", ids.stream().mapToInt(Integer::intValue).toArray()));
+        }
+        return recipes;
+    }
+}
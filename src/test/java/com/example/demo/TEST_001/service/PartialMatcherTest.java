@@ -0,0 +1,82 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PartialMatcher 가 기존 이중 루프(냉장고 재료를 앞에서부터 돌며 contains 비교)와 같은 결과를 내는지 확인
+ */
+class PartialMatcherTest {
+
+    private static final char[] ALPHABET = {'파', '대', '양', '마', '늘', '고', '추', '기', 'a', 'b', ' '};
+
+    @Test
+    void firstMatchFindsEarliestContainingIngredient() {
+        PartialMatcher matcher = new PartialMatcher(new String[]{"대파", "파", "돼지고기", "고기"});
+
+        assertEquals(0, matcher.firstMatch("대파"));          // 완전 일치
+        assertEquals(0, matcher.firstMatch("대파 흰부분"));   // 레시피 재료명이 냉장고 재료명을 포함
+        assertEquals(1, matcher.firstMatch("쪽파"));          // 뒤쪽 재료만 포함
+        assertEquals(0, matcher.firstMatch("파"));            // 냉장고 재료명이 레시피 재료명을 포함 (대파 ⊃ 파)
+        assertEquals(2, matcher.firstMatch("돼지"));
+        assertEquals(2, matcher.firstMatch("돼지고기 앞다리살"));
+        assertEquals(-1, matcher.firstMatch("마늘"));
+    }
+
+    @Test
+    void emptyFridgeNeverMatches() {
+        PartialMatcher matcher = new PartialMatcher(new String[0]);
+
+        assertEquals(-1, matcher.firstMatch("대파"));
+        assertEquals(-1, matcher.firstMatch(""));
+    }
+
+    @Test
+    void matchesNestedContainsLoopOnRandomNames() {
+        Random random = new Random(20240601L);
+
+        for (int round = 0; round < 500; round++) {
+            String[] userNames = randomFridge(random, 1 + random.nextInt(12));
+            PartialMatcher matcher = new PartialMatcher(userNames);
+
+            for (int i = 0; i < 40; i++) {
+                String recipeIngredient = randomName(random, 1 + random.nextInt(6));
+                assertEquals(nestedLoop(userNames, recipeIngredient), matcher.firstMatch(recipeIngredient),
+                        "fridge=" + String.join(",", userNames) + " recipe=" + recipeIngredient);
+            }
+        }
+    }
+
+    // 기존 매칭 코드의 부분 일치 루프
+    private static int nestedLoop(String[] userNames, String recipeIngredient) {
+        for (int i = 0; i < userNames.length; i++) {
+            String userIngredient = userNames[i];
+            if (recipeIngredient.contains(userIngredient) || userIngredient.contains(recipeIngredient)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 중복 없고 비어 있지 않은 냉장고 재료명 (PartialMatcher 생성자 전제 조건)
+    private static String[] randomFridge(Random random, int size) {
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < size) {
+            names.add(randomName(random, 1 + random.nextInt(4)));
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static String randomName(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 레시피 재료 인코딩 (정렬 + 중복 제거, CatalogRecipe 전제 조건)
+ */
+class RecipeCatalogServiceTest {
+
+    private final IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+    private final RecipeCatalogService catalogService = new RecipeCatalogService(null, vocabulary, null, null);
+
+    @Test
+    void synonymsInOneRecipeBecomeOneIngredient() {
+        int[] ids = catalogService.encodeIngredients(List.of("대파", "마늘", "파", "다진마늘", "소금"));
+
+        assertArrayEquals(new int[]{vocabulary.idOf("파"), vocabulary.idOf("마늘"), vocabulary.idOf("소금")}, ids);
+    }
+
+    @Test
+    void synonymsAreCountedOnceWhenScoring() {
+        CatalogRecipe recipe = new CatalogRecipe(1L, "api", catalogService.encodeIngredients(List.of("계란", "달걀", "두부")));
+        FridgeVector fridge = FridgeVector.encode(vocabulary, List.of("계란"));
+
+        long score = MatchKernel.score(recipe.ingredientIds(), fridge.getMatchBits());
+
+        assertEquals(1, MatchKernel.matchedCount(score));
+        assertEquals(2, MatchKernel.totalCount(score));
+        assertEquals("달걀", fridge.describeMatches(recipe.ingredientIds(), vocabulary));
+    }
+}
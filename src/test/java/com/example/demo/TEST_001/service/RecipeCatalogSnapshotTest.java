@@ -0,0 +1,139 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * withRecipes / withoutRecipes 로 부분 갱신한 스냅샷이 같은 레시피로 새로 구축한 스냅샷과 같은 색인을 갖는지 확인
+ */
+class RecipeCatalogSnapshotTest {
+
+    @Test
+    void incrementalUpdatesMatchFullRebuild() {
+        Random random = new Random(20241001L);
+        IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+        for (int id = 0; id < 50; id++) {
+            vocabulary.intern("재료" + id);
+        }
+
+        Map<Long, CatalogRecipe> expected = new LinkedHashMap<>();
+        long nextId = 1;
+        for (; nextId <= 100; nextId++) {
+            expected.put(nextId, randomRecipe(random, nextId, vocabulary));
+        }
+        RecipeCatalogSnapshot snapshot = new RecipeCatalogSnapshot(vocabulary, expected.values());
+
+        for (int step = 0; step < 300; step++) {
+            if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                List<Long> removed = new ArrayList<>();
+                for (int i = random.nextInt(4); i >= 0; i--) {
+                    removed.add(1 + (long) random.nextInt((int) nextId));   // 없는 ID 도 섞임
+                }
+                removed.forEach(expected::remove);
+                snapshot = snapshot.withoutRecipes(removed);
+            } else {
+                List<CatalogRecipe> changed = new ArrayList<>();
+                for (int i = random.nextInt(4); i >= 0; i--) {
+                    // 기존 레시피 수정 또는 새 레시피 (새 재료가 사전에 추가되기도 함)
+                    long id = random.nextBoolean() ? 1 + random.nextInt((int) nextId) : nextId++;
+                    CatalogRecipe recipe = randomRecipe(random, id, vocabulary);
+                    changed.add(recipe);
+                    expected.put(id, recipe);
+                }
+                snapshot = snapshot.withRecipes(changed);
+            }
+            assertSameCatalog(new RecipeCatalogSnapshot(vocabulary, expected.values()), snapshot, nextId);
+        }
+    }
+
+    @Test
+    void removingUnknownRecipeKeepsSnapshot() {
+        IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+        RecipeCatalogSnapshot snapshot = new RecipeCatalogSnapshot(vocabulary,
+                List.of(new CatalogRecipe(1L, "api", new int[]{vocabulary.intern("대파")})));
+
+        assertSame(snapshot, snapshot.withoutRecipes(List.of(2L)));
+    }
+
+    @Test
+    void incrementalUpdatesIncreaseVersion() {
+        IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+        RecipeCatalogSnapshot snapshot = new RecipeCatalogSnapshot(vocabulary,
+                List.of(new CatalogRecipe(1L, "api", new int[]{vocabulary.intern("대파")})), 7L);
+
+        RecipeCatalogSnapshot added = snapshot.withRecipes(List.of(new CatalogRecipe(2L, "user", new int[]{vocabulary.intern("두부")})));
+        RecipeCatalogSnapshot removed = added.withoutRecipes(List.of(1L));
+
+        assertEquals(7L, snapshot.getVersion());
+        assertEquals(8L, added.getVersion());
+        assertEquals(9L, removed.getVersion());
+    }
+
+    // 위치는 달라도 되지만 레시피별 재료, 재료별 후보 레시피, 이어 붙인 재료 배열이 같아야 함
+    private static void assertSameCatalog(RecipeCatalogSnapshot rebuilt, RecipeCatalogSnapshot incremental, long maxId) {
+        assertEquals(rebuilt.size(), incremental.size());
+        for (long id = 1; id <= maxId; id++) {
+            CatalogRecipe expected = rebuilt.getRecipe(id);
+            CatalogRecipe actual = incremental.getRecipe(id);
+            if (expected == null) {
+                assertNull(actual, "삭제된 레시피 " + id);
+                assertEquals(-1, incremental.positionOf(id));
+            } else {
+                assertArrayEquals(expected.ingredientIds(), actual.ingredientIds(), "레시피 " + id);
+                assertSame(actual, incremental.getRecipeAt(incremental.positionOf(id)));
+            }
+        }
+
+        int vocabularySize = rebuilt.getVocabulary().size();
+        for (int ingredientId = 0; ingredientId < vocabularySize; ingredientId++) {
+            long[] bits = new long[(vocabularySize + 63) >>> 6];
+            bits[ingredientId >>> 6] |= 1L << ingredientId;
+            assertEquals(recipeIds(rebuilt, bits), recipeIds(incremental, bits), "재료 " + ingredientId);
+            assertArrayEquals(positionsOf(incremental, ingredientId), incremental.getIndex().postingOf(ingredientId),
+                    "재료 " + ingredientId + " 위치 목록");
+        }
+
+        int[] offsets = incremental.getIngredientOffsets();
+        for (int position = 0; position < incremental.size(); position++) {
+            int[] ids = incremental.getRecipeAt(position).ingredientIds();
+            assertArrayEquals(ids, Arrays.copyOfRange(incremental.getFlatIngredientIds(), offsets[position], offsets[position + 1]));
+        }
+    }
+
+    private static TreeSet<Long> recipeIds(RecipeCatalogSnapshot catalog, long[] bits) {
+        TreeSet<Long> ids = new TreeSet<>();
+        catalog.getIndex().findCandidates(bits).stream().forEach(position -> ids.add(catalog.getRecipeAt(position).id()));
+        return ids;
+    }
+
+    // 재료를 가진 레시피 위치 (오름차순)
+    private static int[] positionsOf(RecipeCatalogSnapshot catalog, int ingredientId) {
+        List<Integer> positions = new ArrayList<>();
+        for (int position = 0; position < catalog.size(); position++) {
+            if (Arrays.binarySearch(catalog.getRecipeAt(position).ingredientIds(), ingredientId) >= 0) {
+                positions.add(position);
+            }
+        }
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static CatalogRecipe randomRecipe(Random random, long id, IngredientVocabulary vocabulary) {
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (int i = random.nextInt(8); i >= 0; i--) {
+            ids.add(vocabulary.intern("재료" + random.nextInt(vocabulary.size() + 2)));
+        }
+        return new CatalogRecipe(id, "api", ids.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
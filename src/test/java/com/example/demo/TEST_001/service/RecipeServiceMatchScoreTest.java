@@ -0,0 +1,42 @@
+package com.example.demo.TEST_001.service;
+
+import com.example.demo.TEST_001.dto.UserRecipeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 레시피 상세 매칭 점수가 목록과 같은 대표 재료명 기준으로 계산되는지 확인
+ */
+class RecipeServiceMatchScoreTest {
+
+    private final IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+
+    @Test
+    void synonymsOnBothSidesMatchExactly() {
+        UserRecipeDTO recipe = new UserRecipeDTO();
+
+        // 카탈로그의 대표 재료명(달걀, 파) 과 입력 그대로 저장된 냉장고 재료명(계란, 대파)
+        RecipeService.scoreIngredientMatch(recipe, List.of("달걀", "파", "소금"), List.of("계란", " 대파 "), vocabulary);
+
+        assertEquals(2, recipe.getMatchedIngredientCount());
+        assertEquals(3, recipe.getTotalIngredientCount());
+        assertEquals(20.0, recipe.getMatchScore());
+        assertEquals("달걀, 파", recipe.getMatchedIngredients());
+    }
+
+    @Test
+    void rawRecipeNamesAreNormalizedToo() {
+        UserRecipeDTO recipe = new UserRecipeDTO();
+
+        // rcpPartsDtls 폴백처럼 레시피 쪽도 입력 그대로인 경우 (계란, 달걀은 한 재료)
+        RecipeService.scoreIngredientMatch(recipe, List.of("계란", "달걀", "돼지고기 목살"), List.of("달걀", "돼지고기"), vocabulary);
+
+        assertEquals(2, recipe.getMatchedIngredientCount());
+        assertEquals(2, recipe.getTotalIngredientCount());
+        assertEquals(13.0, recipe.getMatchScore());
+        assertEquals("달걀, 돼지고기(부분)", recipe.getMatchedIngredients());
+    }
+}
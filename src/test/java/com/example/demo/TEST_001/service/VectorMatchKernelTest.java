@@ -0,0 +1,99 @@
+package com.example.demo.TEST_001.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VectorMatchKernel 점수가 레시피마다 MatchKernel.score 로 계산한 값과 같은지 확인
+ * 테스트 JVM 은 --add-modules jdk.incubator.vector 로 실행됨 (build.gradle)
+ */
+class VectorMatchKernelTest {
+
+    @Test
+    void vectorKernelIsLoadedWhenModuleIsPresent() {
+        assertTrue(MatchScoringKernel.isVectorModuleAvailable(), "테스트 JVM 에 jdk.incubator.vector 모듈이 없습니다.");
+        assertTrue(MatchScoringKernel.create("vector").getName().startsWith("vector"));
+        assertTrue(MatchScoringKernel.create("scalar").getName().startsWith("scalar"));
+    }
+
+    @Test
+    void vectorScoresMatchScalarScores() {
+        Random random = new Random(20240801L);
+        MatchScoringKernel vector = MatchScoringKernel.create("vector");
+        MatchScoringKernel scalar = new ScalarMatchKernel();
+
+        for (int round = 0; round < 100; round++) {
+            IngredientVocabulary vocabulary = new IngredientVocabulary(new IngredientSynonymDictionary());
+            int vocabularySize = 1 + random.nextInt(round % 10 == 0 ? 2000 : 150);
+            for (int id = 0; id < vocabularySize; id++) {
+                vocabulary.intern("재료" + id);
+            }
+            RecipeCatalogSnapshot catalog = new RecipeCatalogSnapshot(vocabulary,
+                    randomRecipes(random, 1 + random.nextInt(300), vocabularySize));
+
+            // 냉장고 인코딩 이후 사전에 재료가 추가된 경우처럼 비트셋이 사전보다 짧을 수 있음
+            long[] matchBits = randomBits(random, random.nextBoolean() ? vocabularySize : random.nextInt(vocabularySize + 1));
+            int[] positions = randomPositions(random, catalog.size());
+            int from = random.nextInt(positions.length + 1);
+            int to = from + random.nextInt(positions.length - from + 1);
+
+            long[] expected = new long[to - from];
+            for (int i = from; i < to; i++) {
+                expected[i - from] = MatchKernel.score(catalog.getRecipeAt(positions[i]).ingredientIds(), matchBits);
+            }
+            long[] vectorScores = new long[to - from];
+            long[] scalarScores = new long[to - from];
+            vector.scoreRange(catalog, matchBits, positions, from, to, vectorScores);
+            scalar.scoreRange(catalog, matchBits, positions, from, to, scalarScores);
+
+            assertArrayEquals(expected, vectorScores, "vector round " + round);
+            assertArrayEquals(expected, scalarScores, "scalar round " + round);
+        }
+    }
+
+    // 재료 수 0 ~ 40 개 (정렬, 중복 없음)
+    private static List<CatalogRecipe> randomRecipes(Random random, int count, int vocabularySize) {
+        List<CatalogRecipe> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TreeSet<Integer> ids = new TreeSet<>();
+            int size = random.nextInt(Math.min(vocabularySize, 40) + 1);
+            while (ids.size() < size) {
+                ids.add(random.nextInt(vocabularySize));
+            }
+            recipes.add(new CatalogRecipe((long) i + 1, "api", ids.stream().mapToInt(Integer::intValue).toArray()));
+        }
+        return recipes;
+    }
+
+    private static long[] randomBits(Random random, int bitCount) {
+        long[] bits = new long[(bitCount + 63) >>> 6];
+        double density = random.nextDouble();
+        for (int id = 0; id < bitCount; id++) {
+            if (random.nextDouble() < density) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    // 오름차순 후보 위치 (연속 구간과 띄엄띄엄한 위치가 섞이도록)
+    private static int[] randomPositions(Random random, int catalogSize) {
+        double keep = random.nextDouble();
+        int[] positions = new int[catalogSize];
+        int count = 0;
+        for (int position = 0; position < catalogSize; position++) {
+            if (random.nextDouble() < keep) {
+                positions[count++] = position;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+}
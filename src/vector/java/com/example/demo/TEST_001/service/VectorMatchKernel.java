@@ -0,0 +1,119 @@
+package com.example.demo.TEST_001.service;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * jdk.incubator.vector 기반 커널 (MatchScoringKernel.create 에서 모듈이 있을 때만 로드)
+ * 모듈 옵션이 필요한 유일한 코드라 vector 소스셋(src/vector/java)에서 따로 컴파일됨
+ * 위치가 연속된 후보 레시피들은 이어 붙인 재료 ID 배열에서도 연속이므로 한 구간으로 묶고,
+ * 구간 전체를 SIMD 레인 수만큼씩 읽어 (ID >>> 5) 워드를 gather 하여 매칭 여부를 비트로 기록한 뒤
+ * 레시피별 구간의 비트 수(popcount)로 매칭 수를 셈
+ */
+final class VectorMatchKernel implements MatchScoringKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void scoreRange(RecipeCatalogSnapshot catalog, long[] matchBits, int[] positions, int from, int to,
+                           long[] scores) {
+        int[] ids = catalog.getFlatIngredientIds();
+        int[] offsets = catalog.getIngredientOffsets();
+        int[] words = toIntWords(matchBits);
+        int[] wordIndex = new int[SPECIES.length()];
+        long[] hits = new long[0];
+
+        int i = from;
+        while (i < to) {
+            // 위치가 연속된 후보끼리 한 구간으로 묶음
+            int runEnd = i + 1;
+            while (runEnd < to && positions[runEnd] == positions[runEnd - 1] + 1) {
+                runEnd++;
+            }
+            int start = offsets[positions[i]];
+            int end = offsets[positions[runEnd - 1] + 1];
+
+            int hitWords = ((end - start) >>> 6) + 2;
+            if (hits.length < hitWords) {
+                hits = new long[Math.max(hitWords, hits.length * 2)];
+            } else {
+                Arrays.fill(hits, 0, hitWords, 0L);
+            }
+            markHits(ids, start, end, words, wordIndex, hits);
+
+            for (int k = i; k < runEnd; k++) {
+                int position = positions[k];
+                int matched = countBits(hits, offsets[position] - start, offsets[position + 1] - start);
+                scores[k - from] = MatchKernel.pack(matched, offsets[position + 1] - offsets[position]);
+            }
+            i = runEnd;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "vector(" + SPECIES.length() + " lanes)";
+    }
+
+    // ids[start, end) 중 냉장고에 있는 재료의 자리를 hits 비트 (start 기준 상대 위치) 로 기록
+    private static void markHits(int[] ids, int start, int end, int[] words, int[] wordIndex, long[] hits) {
+        int lanes = SPECIES.length();
+        for (int j = start; j < end; j += lanes) {
+            VectorMask<Integer> inRange = SPECIES.indexInRange(j - start, end - start);
+            IntVector id = IntVector.fromArray(SPECIES, ids, j, inRange);
+            IntVector word = id.lanewise(VectorOperators.LSHR, 5);
+            // 냉장고 비트셋보다 큰 ID (냉장고 인코딩 이후 사전에 추가된 재료) 는 매칭 아님
+            VectorMask<Integer> valid = inRange.and(word.compare(VectorOperators.LT, words.length));
+            word.blend(0, valid.not()).intoArray(wordIndex, 0);
+
+            IntVector gathered = IntVector.fromArray(SPECIES, words, 0, wordIndex, 0, valid);
+            VectorMask<Integer> hit = gathered.lanewise(VectorOperators.LSHR, id.and(31))
+                    .and(1)
+                    .compare(VectorOperators.NE, 0)
+                    .and(valid);
+
+            long laneBits = hit.toLong();
+            if (laneBits != 0) {
+                int bit = j - start;
+                int shift = bit & 63;
+                hits[bit >>> 6] |= laneBits << shift;
+                if (shift + lanes > 64) {
+                    hits[(bit >>> 6) + 1] |= laneBits >>> (64 - shift);
+                }
+            }
+        }
+    }
+
+    // hits 의 [fromBit, toBit) 구간 비트 수
+    private static int countBits(long[] hits, int fromBit, int toBit) {
+        if (fromBit >= toBit) {
+            return 0;
+        }
+        int fromWord = fromBit >>> 6;
+        int toWord = (toBit - 1) >>> 6;
+        long firstMask = -1L << (fromBit & 63);
+        long lastMask = -1L >>> (63 - ((toBit - 1) & 63));
+        if (fromWord == toWord) {
+            return Long.bitCount(hits[fromWord] & firstMask & lastMask);
+        }
+        int count = Long.bitCount(hits[fromWord] & firstMask);
+        for (int w = fromWord + 1; w < toWord; w++) {
+            count += Long.bitCount(hits[w]);
+        }
+        return count + Long.bitCount(hits[toWord] & lastMask);
+    }
+
+    // long 비트셋 -> int 워드 (ID 비트 위치 유지: ID 는 words[id >>> 5] 의 (id & 31) 번째 비트)
+    private static int[] toIntWords(long[] matchBits) {
+        int[] words = new int[matchBits.length * 2];
+        for (int w = 0; w < matchBits.length; w++) {
+            words[w * 2] = (int) matchBits[w];
+            words[w * 2 + 1] = (int) (matchBits[w] >>> 32);
+        }
+        return words;
+    }
+}